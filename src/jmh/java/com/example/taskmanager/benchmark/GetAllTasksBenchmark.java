@@ -0,0 +1,140 @@
+package com.example.taskmanager.benchmark;
+
+import com.example.taskmanager.TaskmanagerApplication;
+import com.example.taskmanager.command.GetAllTasksQuery;
+import com.example.taskmanager.dto.TaskResponse;
+import com.example.taskmanager.entity.Role;
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.entity.TaskStatus;
+import com.example.taskmanager.entity.User;
+import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.repository.UserRepository;
+import com.example.taskmanager.security.UserPrincipal;
+import com.example.taskmanager.service.TaskApplicationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Slice;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end TaskApplicationServiceImpl.getAllTasks against an embedded H2
+ * seeded with taskCount tasks (-p taskCount=...).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GetAllTasksBenchmark {
+
+	private static final int USER_COUNT = 10;
+	private static final int BATCH_SIZE = 1000;
+
+	@Param({"10000"})
+	public int taskCount;
+
+	private ConfigurableApplicationContext context;
+	private TaskApplicationService taskApplicationService;
+	private SecurityContext adminContext;
+	private SecurityContext userContext;
+
+	@Setup
+	public void setUp() {
+		context = new SpringApplication(TaskmanagerApplication.class).run(
+			"--spring.profiles.active=test",
+			"--spring.datasource.url=jdbc:h2:mem:benchmark",
+			"--spring.jpa.properties.hibernate.generate_statistics=false",
+			"--logging.level.root=WARN"
+		);
+		taskApplicationService = context.getBean(TaskApplicationService.class);
+		seed(context.getBean(UserRepository.class), context.getBean(TaskRepository.class));
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Slice<TaskResponse> adminFirstPage() {
+		return listAs(adminContext, 0, null);
+	}
+
+	@Benchmark
+	public Slice<TaskResponse> userFirstPage() {
+		return listAs(userContext, 0, null);
+	}
+
+	@Benchmark
+	public Slice<TaskResponse> userFirstPageFilteredByStatus() {
+		return listAs(userContext, 0, TaskStatus.NEW);
+	}
+
+	@Benchmark
+	public Slice<TaskResponse> userDeepPage() {
+		return listAs(userContext, taskCount / USER_COUNT / 10 / 2, null);
+	}
+
+	private Slice<TaskResponse> listAs(SecurityContext securityContext, int page, TaskStatus status) {
+		SecurityContextHolder.setContext(securityContext);
+		try {
+			GetAllTasksQuery query = new GetAllTasksQuery();
+			query.setPage(page);
+			query.setStatus(status);
+			return taskApplicationService.getAllTasks(query);
+		} finally {
+			SecurityContextHolder.clearContext();
+		}
+	}
+
+	private void seed(UserRepository userRepository, TaskRepository taskRepository) {
+		List<User> users = new ArrayList<>();
+		for (int i = 0; i < USER_COUNT; i++) {
+			User user = new User();
+			user.setUsername("bench-user" + i);
+			user.setPassword("password");
+			user.setRole(i == 0 ? Role.ADMIN : Role.USER);
+			users.add(userRepository.save(user));
+		}
+		adminContext = securityContext(users.get(0));
+		userContext = securityContext(users.get(1));
+
+		LocalDateTime now = LocalDateTime.now();
+		List<Task> batch = new ArrayList<>(BATCH_SIZE);
+		for (int i = 0; i < taskCount; i++) {
+			Task task = new Task();
+			task.setTitle("Task " + i);
+			task.setDescription("Benchmark task " + i);
+			task.setStatus(TaskStatus.values()[i % TaskStatus.values().length]);
+			task.setCreatedDate(now.minusSeconds(i));
+			task.setUser(users.get(i % USER_COUNT));
+			batch.add(task);
+			if (batch.size() == BATCH_SIZE) {
+				taskRepository.saveAll(batch);
+				batch.clear();
+			}
+		}
+		taskRepository.saveAll(batch);
+	}
+
+	private static SecurityContext securityContext(User user) {
+		UserPrincipal principal = UserPrincipal.create(user);
+		return new SecurityContextImpl(
+			new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+	}
+}
@@ -0,0 +1,60 @@
+package com.example.taskmanager.benchmark;
+
+import com.example.taskmanager.entity.Role;
+import com.example.taskmanager.security.JwtTokenProvider;
+import com.example.taskmanager.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+// JWT üretme ve doğrulama (cache'li ve cache'siz)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtTokenProviderBenchmark {
+
+	private JwtTokenProvider cachedProvider;
+	private JwtTokenProvider uncachedProvider;
+	private UserPrincipal principal;
+	private String token;
+
+	@Setup
+	public void setUp() {
+		cachedProvider = createProvider(10_000);
+		uncachedProvider = createProvider(0);
+		principal = new UserPrincipal(1L, "admin", null, Role.ADMIN);
+		token = cachedProvider.generateToken(principal);
+	}
+
+	@Benchmark
+	public String generate() {
+		return cachedProvider.generateToken(principal);
+	}
+
+	@Benchmark
+	public Claims validateCached() {
+		return cachedProvider.parseAndValidate(token);
+	}
+
+	@Benchmark
+	public Claims validateUncached() {
+		return uncachedProvider.parseAndValidate(token);
+	}
+
+	static JwtTokenProvider createProvider(int cacheMaxSize) {
+		JwtTokenProvider provider = new JwtTokenProvider();
+		ReflectionTestUtils.setField(provider, "jwtSecret", "MySecretKeyForJWTTokenGenerationMustBeAtLeast256BitsLongForSecurity");
+		ReflectionTestUtils.setField(provider, "jwtExpiration", 86_400_000L);
+		ReflectionTestUtils.setField(provider, "cacheMaxSize", cacheMaxSize);
+		ReflectionTestUtils.invokeMethod(provider, "init");
+		return provider;
+	}
+}
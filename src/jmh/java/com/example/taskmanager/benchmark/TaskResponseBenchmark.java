@@ -0,0 +1,78 @@
+package com.example.taskmanager.benchmark;
+
+import com.example.taskmanager.dto.TaskResponse;
+import com.example.taskmanager.entity.Role;
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.entity.TaskStatus;
+import com.example.taskmanager.entity.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Task -> TaskResponse dönüşümü ve 10 elemanlı Page<TaskResponse> JSON serialization
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskResponseBenchmark {
+
+	private Task task;
+	private Page<TaskResponse> page;
+	private ObjectMapper objectMapper;
+
+	@Setup
+	public void setUp() {
+		User user = new User();
+		user.setUsername("user1");
+		user.setRole(Role.USER);
+
+		task = new Task();
+		task.setTitle("Prepare release notes");
+		task.setDescription("x".repeat(500));
+		task.setStatus(TaskStatus.IN_PROGRESS);
+		task.setCreatedDate(LocalDateTime.now());
+		task.setUser(user);
+
+		List<TaskResponse> content = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			content.add(new TaskResponse((long) i, "Task " + i, "x".repeat(500), TaskStatus.NEW,
+					LocalDateTime.now(), 1L, "user1"));
+		}
+		page = new PageImpl<>(content, PageRequest.of(0, 10), 1000);
+
+		// Spring Boot'un kullandığı ayarlarla (JavaTimeModule vb.)
+		objectMapper = Jackson2ObjectMapperBuilder.json().build();
+	}
+
+	@Benchmark
+	public TaskResponse mapTaskToResponse() {
+		return new TaskResponse(
+			task.getId(),
+			task.getTitle(),
+			task.getDescription(),
+			task.getStatus(),
+			task.getCreatedDate(),
+			task.getUser().getId(),
+			task.getUser().getUsername()
+		);
+	}
+
+	@Benchmark
+	public byte[] serializePage() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(page);
+	}
+}
@@ -0,0 +1,67 @@
+package com.example.taskmanager.benchmark;
+
+import com.example.taskmanager.entity.TaskStatus;
+import com.example.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.search.TaskSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// arama gecikmesi: user kapsamlı (kendi görevleri) ve admin (tüm görevler) sorguları
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TaskSearchIndexBenchmark {
+
+	private static final String[] WORDS = {
+			"login", "checkout", "crash", "report", "invoice", "mobile", "release", "deploy", "search", "payment",
+			"email", "export", "import", "cache", "database", "timeout", "refactor", "dashboard", "profile", "upload"
+	};
+
+	@Param({"1000000"})
+	private int taskCount;
+
+	@Param({"1000"})
+	private int userCount;
+
+	private TaskSearchIndex index;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		// repository sadece bootstrap'ta kullanılır, burada index event'lerle doldurulur
+		index = new TaskSearchIndex(null);
+		Random random = new Random(42);
+		for (long id = 1; id <= taskCount; id++) {
+			String title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + id;
+			String description = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+			index.onTaskChanged(TaskChangedEvent.created(id, id, (long) random.nextInt(userCount), TaskStatus.NEW, title, description));
+		}
+	}
+
+	@Benchmark
+	public List<Long> searchOwnTasks() {
+		return index.search("checkout crash", 7L, 10);
+	}
+
+	@Benchmark
+	public List<Long> searchAllTasks() {
+		return index.search("checkout crash", null, 10);
+	}
+
+	@Benchmark
+	public List<Long> searchRareTerm() {
+		return index.search("424242", null, 10);
+	}
+}
@@ -0,0 +1,36 @@
+package com.example.taskmanager.benchmark;
+
+import com.example.taskmanager.service.impl.TaskSort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+// sort parametresinin çözülmesi (hızlı yol, normalize edilen yol, default)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskSortBenchmark {
+
+	private String canonical = "createdDate,desc";
+	private String nonCanonical = " createdDate , Desc ";
+
+	@Benchmark
+	public TaskSort parseCanonical() {
+		return TaskSort.parse(canonical);
+	}
+
+	@Benchmark
+	public TaskSort parseNonCanonical() {
+		return TaskSort.parse(nonCanonical);
+	}
+
+	@Benchmark
+	public TaskSort parseDefault() {
+		return TaskSort.parse(null);
+	}
+}
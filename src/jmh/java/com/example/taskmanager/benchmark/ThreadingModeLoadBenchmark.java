@@ -0,0 +1,169 @@
+package com.example.taskmanager.benchmark;
+
+import com.example.taskmanager.TaskmanagerApplication;
+import com.example.taskmanager.entity.Role;
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.entity.TaskStatus;
+import com.example.taskmanager.entity.User;
+import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP load test of the running application on platform vs virtual threads
+ * (-p threading=platform,virtual). Throughput and SampleTime (p0.99) are
+ * reported for task listing (JDBC bound) and login (BCrypt bound) with
+ * more concurrent clients than Tomcat worker threads. Listing requests are
+ * spread over all seeded users and {@link #LISTED_PAGES} pages, so identical
+ * concurrent requests (which the service coalesces into one query) are rare
+ * and the measurement stays JDBC bound.
+ * The virtual mode needs a Java 21 build and JVM: mvn -Pbenchmark,java21 -DskipTests verify
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(400)
+public class ThreadingModeLoadBenchmark {
+
+	private static final int USER_COUNT = 10;
+	private static final int TASK_COUNT = 10_000;
+	private static final String PASSWORD = "password";
+
+	// kullanıcı başına 1000 görev, sayfa 10 görev: USER_COUNT x LISTED_PAGES farklı istek, thread sayısından fazla
+	private static final int LISTED_PAGES = 50;
+
+	@Param({"platform", "virtual"})
+	public String threading;
+
+	// platform modda eşzamanlı istek sayısını belirleyen Tomcat worker sayısı
+	@Param({"200"})
+	public int tomcatThreads;
+
+	private ConfigurableApplicationContext context;
+	private HttpClient httpClient;
+	private String baseUrl;
+	private String[] tokens;
+	private String loginBody;
+
+	@Setup
+	public void setUp() throws IOException, InterruptedException {
+		boolean virtual = "virtual".equals(threading);
+		if (virtual && Runtime.version().feature() < 21) {
+			throw new IllegalStateException("threading=virtual needs Java 21, running on " + Runtime.version());
+		}
+
+		context = new SpringApplication(TaskmanagerApplication.class).run(
+			"--spring.profiles.active=test",
+			"--spring.datasource.url=jdbc:h2:mem:load-" + threading,
+			"--spring.jpa.properties.hibernate.generate_statistics=false",
+			"--spring.threads.virtual.enabled=" + virtual,
+			"--server.tomcat.threads.max=" + tomcatThreads,
+			"--login.executor.queue-capacity=1000",
+			"--login.rate-limit.username.capacity=1000000",
+			"--login.rate-limit.username.refill-per-minute=1000000",
+			"--login.rate-limit.ip.capacity=1000000",
+			"--login.rate-limit.ip.refill-per-minute=1000000",
+			"--logging.level.root=WARN"
+		);
+		baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+		seed(context.getBean(UserRepository.class), context.getBean(TaskRepository.class), context.getBean(PasswordEncoder.class));
+
+		httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+		ObjectMapper objectMapper = new ObjectMapper();
+		tokens = new String[USER_COUNT];
+		for (int i = 0; i < USER_COUNT; i++) {
+			HttpResponse<String> login = post("/api/users/login", loginBody("load-user" + i));
+			tokens[i] = objectMapper.readTree(login.body()).get("token").asText();
+		}
+		loginBody = loginBody("load-user1");
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public int listTasks() throws IOException, InterruptedException {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/tasks?page=" + random.nextInt(LISTED_PAGES)))
+			.header("Authorization", "Bearer " + tokens[random.nextInt(USER_COUNT)])
+			.GET()
+			.build();
+		return check(httpClient.send(request, HttpResponse.BodyHandlers.ofString()));
+	}
+
+	@Benchmark
+	public int login() throws IOException, InterruptedException {
+		return check(post("/api/users/login", loginBody));
+	}
+
+	private static String loginBody(String username) {
+		return "{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD + "\"}";
+	}
+
+	private HttpResponse<String> post(String path, String body) throws IOException, InterruptedException {
+		HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+			.header("Content-Type", "application/json")
+			.POST(HttpRequest.BodyPublishers.ofString(body))
+			.build();
+		return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+	}
+
+	// 429/503 gibi hızlı ret cevapları ölçümü iyimser gösterir, bu yüzden hata sayılır
+	private static int check(HttpResponse<String> response) {
+		if (response.statusCode() != 200) {
+			throw new IllegalStateException("Unexpected status " + response.statusCode() + ": " + response.body());
+		}
+		return response.statusCode();
+	}
+
+	private void seed(UserRepository userRepository, TaskRepository taskRepository, PasswordEncoder passwordEncoder) {
+		String hash = passwordEncoder.encode(PASSWORD);
+		List<User> users = new ArrayList<>();
+		for (int i = 0; i < USER_COUNT; i++) {
+			User user = new User();
+			user.setUsername("load-user" + i);
+			user.setPassword(hash);
+			user.setRole(i == 0 ? Role.ADMIN : Role.USER);
+			users.add(userRepository.save(user));
+		}
+
+		LocalDateTime now = LocalDateTime.now();
+		List<Task> tasks = new ArrayList<>(TASK_COUNT);
+		for (int i = 0; i < TASK_COUNT; i++) {
+			Task task = new Task();
+			task.setTitle("Task " + i);
+			task.setDescription("Load test task " + i);
+			task.setStatus(TaskStatus.values()[i % TaskStatus.values().length]);
+			task.setCreatedDate(now.minusSeconds(i));
+			task.setUser(users.get(i % USER_COUNT));
+			tasks.add(task);
+		}
+		taskRepository.saveAll(tasks);
+	}
+}
@@ -0,0 +1,93 @@
+package com.example.taskmanager.cache;
+
+import com.example.taskmanager.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls with the same key: the first caller (leader)
+ * runs the loader, callers arriving while it is in flight (followers) wait
+ * for and share its result or exception. Nothing is cached after completion.
+ * Followers wait at most {@code followerTimeoutMs}; a leader stuck longer
+ * than that fails its followers with ServiceUnavailableException (503)
+ * instead of holding their request threads.
+ * <p>
+ * Metrics: {@code <name>.calls{role=leader|follower}} (hit rate =
+ * follower / total), {@code <name>.timeouts} and {@code <name>.in_flight}.
+ */
+public class SingleFlight<K, V> {
+    
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final long followerTimeoutMs;
+    private final Counter leaderCalls;
+    private final Counter followerCalls;
+    private final Counter followerTimeouts;
+    
+    public SingleFlight(String name, long followerTimeoutMs, MeterRegistry meterRegistry) {
+        this.followerTimeoutMs = followerTimeoutMs;
+        this.leaderCalls = Counter.builder(name + ".calls").tag("role", "leader")
+                .description("Calls that ran the loader")
+                .register(meterRegistry);
+        this.followerCalls = Counter.builder(name + ".calls").tag("role", "follower")
+                .description("Calls that shared an in-flight result")
+                .register(meterRegistry);
+        this.followerTimeouts = Counter.builder(name + ".timeouts")
+                .description("Followers that gave up waiting for the leader")
+                .register(meterRegistry);
+        Gauge.builder(name + ".in_flight", inFlight, Map::size).register(meterRegistry);
+    }
+    
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            followerCalls.increment();
+            return join(existing);
+        }
+        
+        leaderCalls.increment();
+        try {
+            V result = loader.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            // tamamlanan sonuç saklanmaz, sonraki çağrı yeni sorgu çalıştırır
+            inFlight.remove(key, flight);
+        }
+    }
+    
+    // leader'ın exception'ı follower'lara aynen iletilir
+    private V join(CompletableFuture<V> flight) {
+        try {
+            return flight.get(followerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // leader devam eder ve sonucu sonraki follower'lara yine verebilir; bu istek beklemeyi bırakır
+            followerTimeouts.increment();
+            throw new ServiceUnavailableException("Timed out waiting for a concurrent identical request, try again");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while waiting for a concurrent identical request");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
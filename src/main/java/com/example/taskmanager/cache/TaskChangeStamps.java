@@ -0,0 +1,52 @@
+package com.example.taskmanager.cache;
+
+import com.example.taskmanager.event.TaskChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Change stamps of task listings: one global stamp (admin scope) and one per
+ * task owner (user scope), bumped after every committed task write.
+ * Listing ETags are derived from them, so a poll with an unchanged stamp is
+ * answered with 304 without touching the database.
+ */
+@Component
+public class TaskChangeStamps {
+    
+    // stamp'ler bellekte tutulur; restart sonrası eski ETag'ler eşleşmesin diye başlangıç zamanı ETag'e eklenir
+    private final long epoch = System.currentTimeMillis();
+    
+    private final AtomicLong global = new AtomicLong();
+    
+    // ownerId -> o kullanıcının görevlerinin son değiştiği global stamp
+    private final Map<Long, Long> perUser = new ConcurrentHashMap<>();
+    
+    public long getEpoch() {
+        return epoch;
+    }
+    
+    public long getGlobalStamp() {
+        return global.get();
+    }
+    
+    public long getUserStamp(Long userId) {
+        return perUser.getOrDefault(userId, 0L);
+    }
+    
+    // commit sonrası artırılır: commit ile artış arasında okuyan istek eski stamp'le yeni veriyi görür,
+    // bir sonraki poll'da ETag uyuşmaz ve 200 döner (eski veri yeni stamp'le etiketlenmez)
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        long stamp = global.incrementAndGet();
+        if (event.getPreviousOwnerId() != null) {
+            perUser.merge(event.getPreviousOwnerId(), stamp, Math::max);
+        }
+        if (event.getOwnerId() != null) {
+            perUser.merge(event.getOwnerId(), stamp, Math::max);
+        }
+    }
+}
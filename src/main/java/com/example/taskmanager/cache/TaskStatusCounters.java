@@ -0,0 +1,175 @@
+package com.example.taskmanager.cache;
+
+import com.example.taskmanager.entity.TaskStatus;
+import com.example.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory task counts per user and status (GET /api/tasks/stats).
+ * Counters are adjusted from TaskChangedEvent after each commit, so reads are
+ * O(1); a periodic GROUP BY reconciliation corrects any drift.
+ */
+@Component
+public class TaskStatusCounters {
+    
+    private static final Logger log = LoggerFactory.getLogger(TaskStatusCounters.class);
+    private static final int STATUS_COUNT = TaskStatus.values().length;
+    
+    private final TaskRepository taskRepository;
+    
+    // readOnly değil: replica routing açıkken GROUP BY primary'de çalışır. Geride kalan replica sorgudan önce
+    // commit edilmiş (event'i zaten uygulanmış) değişiklikleri göstermeyebilir, appliedChanges kontrolü bunu yakalamaz.
+    // REQUIRES_NEW: listeleme/stats'ın readOnly transaction'ı içinden çağrıldığında ona katılmaz
+    private final TransactionTemplate primaryTransaction;
+    
+    // userId -> status ordinal'ine göre sayaçlar
+    private volatile Map<Long, AtomicLongArray> perUser = new ConcurrentHashMap<>();
+    private volatile AtomicLongArray global = new AtomicLongArray(STATUS_COUNT);
+    private volatile boolean initialized;
+    
+    // uygulanan her event'te artar; reconcile sırasında değiştiyse sonuç yazılmaz
+    private final AtomicLong appliedChanges = new AtomicLong();
+    
+    private final ReentrantLock reconcileLock = new ReentrantLock();
+    
+    public TaskStatusCounters(TaskRepository taskRepository, PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.primaryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+    
+    public boolean isInitialized() {
+        return initialized;
+    }
+    
+    public Map<TaskStatus, Long> getGlobalCounts() {
+        return toMap(global);
+    }
+    
+    public Map<TaskStatus, Long> getUserCounts(Long userId) {
+        AtomicLongArray counts = perUser.get(userId);
+        return counts != null ? toMap(counts) : toMap(new AtomicLongArray(STATUS_COUNT));
+    }
+    
+    /**
+     * Task count of a listing scope, used as page total instead of COUNT(*).
+     * @param userId owner, or null for all users
+     * @param status status filter, or null for all statuses
+     */
+    public long count(Long userId, TaskStatus status) {
+        AtomicLongArray counts = userId != null ? perUser.get(userId) : global;
+        if (counts == null) {
+            return 0;
+        }
+        if (status != null) {
+            return counts.get(status.ordinal());
+        }
+        long total = 0;
+        for (int i = 0; i < STATUS_COUNT; i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+    
+    // rollback olan transaction sayaçları bozmasın diye commit sonrası uygulanır
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.getPreviousOwnerId() != null) {
+            add(event.getPreviousOwnerId(), event.getPreviousStatus(), -1);
+        }
+        if (event.getOwnerId() != null) {
+            add(event.getOwnerId(), event.getStatus(), 1);
+        }
+        appliedChanges.incrementAndGet();
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reconcile();
+    }
+    
+    @Scheduled(fixedDelayString = "${task.stats.reconcile-interval-ms:300000}",
+               initialDelayString = "${task.stats.reconcile-interval-ms:300000}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+    
+    /**
+     * Rebuilds all counters from a GROUP BY over tasks.
+     * @return false if events were applied meanwhile and the result was discarded
+     */
+    public boolean reconcile() {
+        // sorgu kilit altında çalışır; synchronized virtual thread'in carrier'ını JDBC süresince bloklardı
+        reconcileLock.lock();
+        try {
+            long before = appliedChanges.get();
+            
+            Map<Long, AtomicLongArray> loadedPerUser = new ConcurrentHashMap<>();
+            AtomicLongArray loadedGlobal = new AtomicLongArray(STATUS_COUNT);
+            List<Object[]> rows = primaryTransaction.execute(tx -> taskRepository.countByUserAndStatus());
+            for (Object[] row : rows) {
+                Long userId = (Long) row[0];
+                int status = ((TaskStatus) row[1]).ordinal();
+                long count = (Long) row[2];
+                loadedPerUser.computeIfAbsent(userId, id -> new AtomicLongArray(STATUS_COUNT)).addAndGet(status, count);
+                loadedGlobal.addAndGet(status, count);
+            }
+            
+            // sorgu sırasında commit edilen değişiklik hem sonuçta hem sayaçta olabilir, bir sonraki tura bırakılır
+            if (initialized && appliedChanges.get() != before) {
+                log.debug("Task counters changed during reconciliation, retrying on next run");
+                return false;
+            }
+            if (initialized && !sameCounts(loadedGlobal)) {
+                log.warn("Task status counters drifted, global counts corrected to {}", toMap(loadedGlobal));
+            }
+            
+            perUser = loadedPerUser;
+            global = loadedGlobal;
+            initialized = true;
+            return true;
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+    
+    private void add(Long userId, TaskStatus status, long delta) {
+        perUser.computeIfAbsent(userId, id -> new AtomicLongArray(STATUS_COUNT)).addAndGet(status.ordinal(), delta);
+        global.addAndGet(status.ordinal(), delta);
+    }
+    
+    private boolean sameCounts(AtomicLongArray loadedGlobal) {
+        for (int i = 0; i < STATUS_COUNT; i++) {
+            if (global.get(i) != loadedGlobal.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private Map<TaskStatus, Long> toMap(AtomicLongArray counts) {
+        Map<TaskStatus, Long> result = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            result.put(status, counts.get(status.ordinal()));
+        }
+        return result;
+    }
+}
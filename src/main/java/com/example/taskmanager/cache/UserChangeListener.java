@@ -0,0 +1,61 @@
+package com.example.taskmanager.cache;
+
+import com.example.taskmanager.entity.User;
+import com.example.taskmanager.security.TokenRevocationRegistry;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener on User: invalidates the user directory cache on every
+ * write, and revokes the user's tokens when the user is updated or deleted
+ * (tokens carry the role, and authentication does not reload the user).
+ */
+@Component
+public class UserChangeListener {
+    
+    private final UserDirectoryCache userDirectoryCache;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    
+    public UserChangeListener(UserDirectoryCache userDirectoryCache, TokenRevocationRegistry tokenRevocationRegistry) {
+        this.userDirectoryCache = userDirectoryCache;
+        this.tokenRevocationRegistry = tokenRevocationRegistry;
+    }
+    
+    @PostPersist
+    public void onUserCreated(User user) {
+        invalidateDirectory();
+    }
+    
+    // rol/şifre değişikliği veya silme: eski tokenlar commit sonrası reddedilir
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        invalidateDirectory();
+        Long userId = user.getId();
+        afterCommit(() -> tokenRevocationRegistry.revokeTokens(userId));
+    }
+    
+    private void invalidateDirectory() {
+        userDirectoryCache.invalidate();
+        
+        // commit'ten önce başka bir istek eski veriyi tekrar cache'leyebilir, commit sonrası bir kez daha temizlenir
+        afterCommit(userDirectoryCache::invalidate);
+    }
+    
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
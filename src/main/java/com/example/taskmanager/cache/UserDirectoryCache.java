@@ -0,0 +1,108 @@
+package com.example.taskmanager.cache;
+
+import com.example.taskmanager.dto.UserResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of the immutable user directory (GET /api/users).
+ * The snapshot is sorted by username (case-insensitive) so prefix search is a
+ * binary search; any user write invalidates it through UserChangeListener.
+ */
+@Component
+public class UserDirectoryCache {
+    
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    
+    // versiyon bellekte tutulur; restart sonrası eski ETag'ler eşleşmesin diye başlangıç zamanı ETag'e eklenir
+    private final long epoch = System.currentTimeMillis();
+    
+    // her invalidation'da artar, ETag ve yarış kontrolü için kullanılır
+    private final AtomicLong version = new AtomicLong();
+    
+    public Snapshot get(Supplier<List<UserResponse>> loader) {
+        Snapshot current = snapshot.get();
+        if (current != null) {
+            return current;
+        }
+        
+        long loadVersion = version.get();
+        Snapshot loaded = new Snapshot(loader.get(), loadVersion);
+        
+        // yükleme sırasında invalidate geldiyse eski veri cache'e yazılmaz
+        if (version.get() == loadVersion) {
+            snapshot.compareAndSet(null, loaded);
+        }
+        return loaded;
+    }
+    
+    public long getEpoch() {
+        return epoch;
+    }
+    
+    public long getVersion() {
+        return version.get();
+    }
+    
+    public void invalidate() {
+        version.incrementAndGet();
+        snapshot.set(null);
+    }
+    
+    public static class Snapshot {
+        private final List<UserResponse> users;
+        private final String[] lowerCaseUsernames;
+        private final long version;
+        
+        Snapshot(List<UserResponse> users, long version) {
+            List<UserResponse> sorted = new ArrayList<>(users);
+            sorted.sort(Comparator.comparing(user -> user.getUsername().toLowerCase(Locale.ROOT)));
+            this.users = Collections.unmodifiableList(sorted);
+            this.lowerCaseUsernames = sorted.stream()
+                    .map(user -> user.getUsername().toLowerCase(Locale.ROOT))
+                    .toArray(String[]::new);
+            this.version = version;
+        }
+        
+        public List<UserResponse> getUsers() {
+            return users;
+        }
+        
+        public long getVersion() {
+            return version;
+        }
+        
+        // username'i prefix ile başlayan kullanıcılar (büyük/küçük harf duyarsız)
+        public List<UserResponse> findByPrefix(String prefix) {
+            String key = prefix.toLowerCase(Locale.ROOT);
+            int from = lowerBound(key);
+            int to = from;
+            while (to < lowerCaseUsernames.length && lowerCaseUsernames[to].startsWith(key)) {
+                to++;
+            }
+            return users.subList(from, to);
+        }
+        
+        private int lowerBound(String key) {
+            int low = 0;
+            int high = lowerCaseUsernames.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (lowerCaseUsernames[mid].compareTo(key) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
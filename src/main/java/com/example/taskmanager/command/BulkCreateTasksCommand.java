@@ -0,0 +1,21 @@
+package com.example.taskmanager.command;
+
+import java.util.List;
+
+
+public class BulkCreateTasksCommand {
+    private List<CreateTaskCommand> tasks;
+    
+    
+    public BulkCreateTasksCommand() {
+    }
+    
+    
+    public List<CreateTaskCommand> getTasks() {
+        return tasks;
+    }
+    
+    public void setTasks(List<CreateTaskCommand> tasks) {
+        this.tasks = tasks;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.taskmanager.command;
+
+import java.util.List;
+
+
+public class BulkDeleteTasksCommand {
+    private List<Long> taskIds;
+    
+    
+    public BulkDeleteTasksCommand() {
+    }
+    
+    
+    public List<Long> getTaskIds() {
+        return taskIds;
+    }
+    
+    public void setTaskIds(List<Long> taskIds) {
+        this.taskIds = taskIds;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.taskmanager.command;
+
+import java.util.List;
+
+
+public class BulkUpdateTasksCommand {
+    private List<UpdateTaskCommand> tasks;
+    
+    
+    public BulkUpdateTasksCommand() {
+    }
+    
+    
+    public List<UpdateTaskCommand> getTasks() {
+        return tasks;
+    }
+    
+    public void setTasks(List<UpdateTaskCommand> tasks) {
+        this.tasks = tasks;
+    }
+}
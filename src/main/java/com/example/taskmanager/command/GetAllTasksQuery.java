@@ -9,6 +9,12 @@ public class GetAllTasksQuery {
     
     private String sort;       
     
+    private String after;      // keyset pagination cursor (opaque)
+    
+    private boolean includeTotals = true;   // false: totalElements/totalPages olmadan Slice döner
+    
+    private String fields;     // sparse fieldset ("title,status"), null ise tam TaskResponse
+    
     
     public GetAllTasksQuery() {
     }
@@ -38,5 +44,28 @@ public class GetAllTasksQuery {
     public void setSort(String sort) {
         this.sort = sort;
     }
+    
+    public String getAfter() {
+        return after;
+    }
+    
+    public void setAfter(String after) {
+        this.after = after;
+    }
+    
+    public boolean isIncludeTotals() {
+        return includeTotals;
+    }
+    
+    public void setIncludeTotals(boolean includeTotals) {
+        this.includeTotals = includeTotals;
+    }
+    
+    public String getFields() {
+        return fields;
+    }
+    
+    public void setFields(String fields) {
+        this.fields = fields;
+    }
 }
-
@@ -4,6 +4,7 @@ package com.example.taskmanager.command;
 public class LoginCommand {
     private String username;
     private String password;
+    private String clientIp; // rate limiting için
     
    
     public LoginCommand() {
@@ -25,5 +26,13 @@ public class LoginCommand {
     public void setPassword(String password) {
         this.password = password;
     }
+    
+    public String getClientIp() {
+        return clientIp;
+    }
+    
+    public void setClientIp(String clientIp) {
+        this.clientIp = clientIp;
+    }
 }
 
@@ -3,12 +3,27 @@ package com.example.taskmanager.controller;
 import com.example.taskmanager.command.*;
 import com.example.taskmanager.dto.*;
 import com.example.taskmanager.service.TaskApplicationService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
 
 @RestController
@@ -17,27 +32,130 @@ public class TaskController {
     
     private final TaskApplicationService taskApplicationService;
     
+    // export satırları tek tek yazıldığı için writer hedefi kapatmamalı
+    private final ObjectWriter exportJsonWriter;
+    
     @Autowired
-    public TaskController(TaskApplicationService taskApplicationService) {
+    public TaskController(TaskApplicationService taskApplicationService, ObjectMapper objectMapper) {
         this.taskApplicationService = taskApplicationService;
+        this.exportJsonWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
     }
     
     
+    // If-None-Match kapsamın change stamp'iyle eşleşirse 304 (DB'ye gidilmez)
+    // ?totals=false: totalElements/totalPages olmadan sadece hasNext (Slice)
+    // ?fields=title,status: sadece seçilen alanlar (id her zaman) okunur ve döner, description/user atlanabilir
     @GetMapping
-    public ResponseEntity<Page<TaskResponse>> getAllTasks(
+    public ResponseEntity<Slice<?>> getAllTasks(
             @ModelAttribute GetAllTasksRequest request,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(required = false) String sort) {
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "true") boolean totals,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
         
         GetAllTasksQuery query = new GetAllTasksQuery();
         query.setStatus(request.getStatus());
         query.setPage(page);
         query.setSort(sort);
+        query.setIncludeTotals(totals);
+        query.setFields(fields);
+        
+        String etag = taskApplicationService.getTasksETag(query);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        
+        Slice<?> tasks = fields != null
+                ? taskApplicationService.getTaskSummaries(query)
+                : taskApplicationService.getAllTasks(query);
+        return ResponseEntity.ok().eTag(etag).body(tasks);
+    }
+    
+    // ?after=<cursor> verilirse keyset pagination (boş değer ilk sayfa)
+    @GetMapping(params = "after")
+    public ResponseEntity<TaskSliceResponse> getTasksAfter(
+            @ModelAttribute GetAllTasksRequest request,
+            @RequestParam String after,
+            @RequestParam(required = false) String sort,
+            WebRequest webRequest) {
+        
+        GetAllTasksQuery query = new GetAllTasksQuery();
+        query.setStatus(request.getStatus());
+        query.setAfter(after);
+        query.setSort(sort);
         
-        Page<TaskResponse> tasks = taskApplicationService.getAllTasks(query);
+        String etag = taskApplicationService.getTasksETag(query);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        
+        TaskSliceResponse tasks = taskApplicationService.getTasksAfter(query);
+        return ResponseEntity.ok().eTag(etag).body(tasks);
+    }
+    
+    // ?q=<kelimeler>: başlık ve açıklamada arama, en alakalı sonuç önce
+    @GetMapping("/search")
+    public ResponseEntity<List<TaskResponse>> searchTasks(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        List<TaskResponse> tasks = taskApplicationService.searchTasks(q, limit);
         return ResponseEntity.ok(tasks);
     }
     
+    // ?since=<watermark>: o noktadan sonra değişen ve silinen görevler; ilk senkron since=0
+    // since tombstone saklama süresinin gerisindeyse resyncRequired: client görevleri baştan yükler, watermark'tan devam eder
+    @GetMapping("/changes")
+    public ResponseEntity<TaskChangesResponse> getTaskChanges(
+            @RequestParam long since,
+            @RequestParam(required = false) Integer limit) {
+        TaskChangesResponse changes = taskApplicationService.getTaskChanges(since, limit);
+        return ResponseEntity.ok(changes);
+    }
+    
+    // SSE: ready (watermark), task (CREATED/UPDATED/DELETED), resync (buffer taştı, /changes?since=<son id> ile devam edilir).
+    // Cevap servlet async + non-blocking yazmayla açık kalır, metod dönünce istek thread'i bırakılır
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public void streamTasks(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        taskApplicationService.streamTaskChanges(request, response);
+    }
+    
+    // status bazında görev sayıları (admin: ?userId verilmezse tüm görevler)
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStatsResponse> getTaskStats(@RequestParam(required = false) Long userId) {
+        TaskStatsResponse stats = taskApplicationService.getTaskStats(userId);
+        return ResponseEntity.ok(stats);
+    }
+    
+    // ?format=ndjson|csv, tüm görevler tek response'ta akıtılır (sayfalama/COUNT yok)
+    @GetMapping("/export")
+    public void exportTasks(
+            @ModelAttribute GetAllTasksRequest request,
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response) throws IOException {
+        
+        TaskExportFormat exportFormat = TaskExportFormat.parse(format);
+        
+        GetAllTasksQuery query = new GetAllTasksQuery();
+        query.setStatus(request.getStatus());
+        
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks." + exportFormat.getExtension() + "\"");
+        
+        // servlet buffer'ı doldukça client'a gönderilir, export belleğe toplanmaz
+        Writer writer = response.getWriter();
+        exportFormat.writeHeader(writer);
+        taskApplicationService.exportTasks(query, task -> {
+            try {
+                exportFormat.writeRow(writer, exportJsonWriter, task);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+    
    
     @PostMapping
     public ResponseEntity<TaskResponse> createTask(@Valid @RequestBody TaskRequest request) {
@@ -52,6 +170,54 @@ public class TaskController {
     }
     
    
+    // toplu oluşturma (nightly sync): tek istek, tek transaction
+    @PostMapping("/bulk")
+    public ResponseEntity<List<TaskResponse>> createTasks(@Valid @RequestBody BulkTaskRequest request) {
+        List<CreateTaskCommand> items = new ArrayList<>(request.getTasks().size());
+        for (TaskRequest item : request.getTasks()) {
+            CreateTaskCommand command = new CreateTaskCommand();
+            command.setTargetUserId(item.getTargetUserId());
+            command.setTitle(item.getTitle());
+            command.setDescription(item.getDescription());
+            command.setStatus(item.getStatus());
+            items.add(command);
+        }
+        BulkCreateTasksCommand command = new BulkCreateTasksCommand();
+        command.setTasks(items);
+        
+        List<TaskResponse> tasks = taskApplicationService.createTasks(command);
+        return ResponseEntity.status(HttpStatus.CREATED).body(tasks);
+    }
+    
+    @PutMapping("/bulk")
+    public ResponseEntity<List<TaskResponse>> updateTasks(@Valid @RequestBody BulkUpdateTaskRequest request) {
+        List<UpdateTaskCommand> items = new ArrayList<>(request.getTasks().size());
+        for (BulkUpdateTaskItem item : request.getTasks()) {
+            UpdateTaskCommand command = new UpdateTaskCommand();
+            command.setTaskId(item.getId());
+            command.setTargetUserId(item.getTargetUserId());
+            command.setTitle(item.getTitle());
+            command.setDescription(item.getDescription());
+            command.setStatus(item.getStatus());
+            items.add(command);
+        }
+        BulkUpdateTasksCommand command = new BulkUpdateTasksCommand();
+        command.setTasks(items);
+        
+        List<TaskResponse> tasks = taskApplicationService.updateTasks(command);
+        return ResponseEntity.ok(tasks);
+    }
+    
+    @DeleteMapping("/bulk")
+    public ResponseEntity<Void> deleteTasks(@Valid @RequestBody BulkDeleteTaskRequest request) {
+        BulkDeleteTasksCommand command = new BulkDeleteTasksCommand();
+        command.setTaskIds(request.getTaskIds());
+        
+        taskApplicationService.deleteTasks(command);
+        return ResponseEntity.noContent().build();
+    }
+    
+   
     @PutMapping("/{id}")
     public ResponseEntity<TaskResponse> updateTask(
             @PathVariable Long id,
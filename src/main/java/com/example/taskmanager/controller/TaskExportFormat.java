@@ -0,0 +1,106 @@
+package com.example.taskmanager.controller;
+
+import com.example.taskmanager.dto.TaskResponse;
+import com.example.taskmanager.exception.ValidationException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+
+/**
+ * Row formats of GET /api/tasks/export.
+ * Each row is written straight to the response writer, nothing is buffered per export.
+ */
+enum TaskExportFormat {
+    
+    // satır başına bir JSON nesnesi, API ile aynı TaskResponse şekli
+    NDJSON("application/x-ndjson", "ndjson") {
+        @Override
+        void writeHeader(Writer writer) {
+        }
+        
+        @Override
+        void writeRow(Writer writer, ObjectWriter json, TaskResponse task) throws IOException {
+            json.writeValue(writer, task);
+            writer.write('\n');
+        }
+    },
+    
+    // RFC 4180: virgül, tırnak veya satır sonu içeren alanlar tırnaklanır
+    CSV("text/csv", "csv") {
+        private static final String FORMULA_PREFIXES = "=+-@\t\r";
+        
+        @Override
+        void writeHeader(Writer writer) throws IOException {
+            writer.write("id,title,description,status,createdDate,userId,username\r\n");
+        }
+        
+        @Override
+        void writeRow(Writer writer, ObjectWriter json, TaskResponse task) throws IOException {
+            writer.write(String.valueOf(task.getId()));
+            writer.write(',');
+            writeField(writer, task.getTitle());
+            writer.write(',');
+            writeField(writer, task.getDescription());
+            writer.write(',');
+            writer.write(task.getStatus().name());
+            writer.write(',');
+            writer.write(String.valueOf(task.getCreatedDate()));
+            writer.write(',');
+            writer.write(String.valueOf(task.getUser().getId()));
+            writer.write(',');
+            writeField(writer, task.getUser().getUsername());
+            writer.write("\r\n");
+        }
+        
+        private void writeField(Writer writer, String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            // formül enjeksiyonu: =, +, -, @ (veya tab/CR) ile başlayan hücre spreadsheet'te formül olarak çalışır,
+            // başına ' eklenerek metin olarak açılması sağlanır
+            if (!value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0) {
+                value = "'" + value;
+            }
+            boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    };
+    
+    private final String contentType;
+    private final String extension;
+    
+    TaskExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+    
+    abstract void writeHeader(Writer writer) throws IOException;
+    
+    abstract void writeRow(Writer writer, ObjectWriter json, TaskResponse task) throws IOException;
+    
+    String getContentType() {
+        return contentType;
+    }
+    
+    String getExtension() {
+        return extension;
+    }
+    
+    static TaskExportFormat parse(String value) {
+        for (TaskExportFormat format : values()) {
+            if (format.extension.equals(value.trim().toLowerCase(Locale.ROOT))) {
+                return format;
+            }
+        }
+        throw new ValidationException("Unsupported export format: " + value);
+    }
+}
@@ -5,12 +5,15 @@ import com.example.taskmanager.dto.LoginRequest;
 import com.example.taskmanager.dto.LoginResponse;
 import com.example.taskmanager.dto.UserResponse;
 import com.example.taskmanager.service.UserApplicationService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/users")
@@ -24,21 +27,36 @@ public class UserController {
     }
     
    
+    // async: Tomcat worker BCrypt doğrulamasını beklemez, sonuç hazır olunca yanıt yazılır
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest request) {
+    public CompletableFuture<ResponseEntity<LoginResponse>> login(@Valid @RequestBody LoginRequest request,
+                                                                  HttpServletRequest httpRequest) {
         LoginCommand command = new LoginCommand();
         command.setUsername(request.getUsername());
         command.setPassword(request.getPassword());
+        command.setClientIp(httpRequest.getRemoteAddr());
         
-        LoginResponse response = userApplicationService.login(command);
-        return ResponseEntity.ok(response);
+        return userApplicationService.login(command).thenApply(ResponseEntity::ok);
     }
     
    
+    // cache'ten döner, If-None-Match eşleşirse 304 (DB'ye gidilmez)
     @GetMapping
-    public ResponseEntity<List<UserResponse>> getAllUsers() {
-        List<UserResponse> responses = userApplicationService.getAllUsers();
-        return ResponseEntity.ok(responses);
+    public ResponseEntity<List<UserResponse>> getAllUsers(
+            @RequestParam(required = false) String prefix,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            WebRequest webRequest) {
+        
+        String etag = userApplicationService.getUsersETag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        
+        List<UserResponse> responses = prefix == null && page == null && size == null
+                ? userApplicationService.getAllUsers()
+                : userApplicationService.searchUsers(prefix, page, size);
+        return ResponseEntity.ok().eTag(etag).body(responses);
     }
 }
 
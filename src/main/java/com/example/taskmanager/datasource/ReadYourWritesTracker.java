@@ -0,0 +1,53 @@
+package com.example.taskmanager.datasource;
+
+import com.example.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.security.SecurityUtils;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers when each user last committed a task write, so that user's reads
+ * go to the primary until replicas have had time to catch up.
+ */
+public class ReadYourWritesTracker {
+    
+    private final long windowMs;
+    
+    // userId -> son yazma zamanı
+    private final Map<Long, Long> lastWriteAt = new ConcurrentHashMap<>();
+    
+    public ReadYourWritesTracker(long windowMs) {
+        this.windowMs = windowMs;
+    }
+    
+    // commit sonrası, yazan isteğin thread'inde çalışır
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        Long userId = SecurityUtils.findCurrentUserId();
+        if (windowMs > 0 && userId != null) {
+            lastWriteAt.put(userId, System.currentTimeMillis());
+        }
+    }
+    
+    public boolean mustReadPrimary() {
+        if (windowMs <= 0) {
+            return false;
+        }
+        Long userId = SecurityUtils.findCurrentUserId();
+        if (userId == null) {
+            return false;
+        }
+        Long writtenAt = lastWriteAt.get(userId);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() - writtenAt < windowMs) {
+            return true;
+        }
+        // süresi dolan kayıt temizlenir, map kullanıcı sayısıyla sınırlı kalır
+        lastWriteAt.remove(userId, writtenAt);
+        return false;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.taskmanager.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured DataSource when datasource.replica.enabled=true.
+ * The physical connection is fetched lazily on the first statement: read-only
+ * transactions (@Transactional(readOnly = true)) get a replica connection,
+ * everything else the primary pool built from spring.datasource.*.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaDataSourceConfig {
+    
+    // primary pool: spring.datasource.* ve spring.datasource.hikari.* ile aynı şekilde kurulur
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+    
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReplicaProperties replicaProperties) {
+        return new ReadYourWritesTracker(replicaProperties.getReadYourWritesMs());
+    }
+    
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource, ReplicaProperties replicaProperties,
+                                                             ReadYourWritesTracker readYourWritesTracker, MeterRegistry meterRegistry) {
+        List<HikariDataSource> pools = new ArrayList<>();
+        int index = 0;
+        for (ReplicaProperties.Node node : replicaProperties.getNodes()) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + index++);
+            pool.setJdbcUrl(node.getUrl());
+            pool.setUsername(node.getUsername());
+            pool.setPassword(node.getPassword());
+            pool.setMaximumPoolSize(node.getMaximumPoolSize());
+            pool.setConnectionTimeout(node.getConnectionTimeoutMs());
+            pool.setReadOnly(true);
+            // replica kapalıyken de uygulama açılabilmeli, health check sonra işaretler
+            pool.setInitializationFailTimeout(-1);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            pools.add(pool);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, pools, replicaProperties.getStrategy(),
+                readYourWritesTracker, meterRegistry);
+    }
+    
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primaryDataSource);
+        proxy.setReadOnlyDataSource(replicaRoutingDataSource);
+        return proxy;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.taskmanager.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replica settings (datasource.replica.*). When enabled, read-only
+ * transactions are served by one of the replica nodes.
+ */
+@ConfigurationProperties(prefix = "datasource.replica")
+public class ReplicaProperties {
+    
+    public enum Strategy {
+        ROUND_ROBIN, LEAST_BUSY
+    }
+    
+    private boolean enabled;
+    private Strategy strategy = Strategy.ROUND_ROBIN;
+    private long healthCheckIntervalMs = 5000;
+    
+    // kullanıcı yazdıktan sonra bu süre boyunca okumaları primary'den yapılır (0: kapalı)
+    private long readYourWritesMs;
+    
+    private List<Node> nodes = new ArrayList<>();
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public Strategy getStrategy() {
+        return strategy;
+    }
+    
+    public void setStrategy(Strategy strategy) {
+        this.strategy = strategy;
+    }
+    
+    public long getHealthCheckIntervalMs() {
+        return healthCheckIntervalMs;
+    }
+    
+    public void setHealthCheckIntervalMs(long healthCheckIntervalMs) {
+        this.healthCheckIntervalMs = healthCheckIntervalMs;
+    }
+    
+    public long getReadYourWritesMs() {
+        return readYourWritesMs;
+    }
+    
+    public void setReadYourWritesMs(long readYourWritesMs) {
+        this.readYourWritesMs = readYourWritesMs;
+    }
+    
+    public List<Node> getNodes() {
+        return nodes;
+    }
+    
+    public void setNodes(List<Node> nodes) {
+        this.nodes = nodes;
+    }
+    
+    public static class Node {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+        
+        // erişilemeyen replica'da bekleme kısa tutulur, okuma hızla primary'ye düşer
+        private long connectionTimeoutMs = 1000;
+        
+        public String getUrl() {
+            return url;
+        }
+        
+        public void setUrl(String url) {
+            this.url = url;
+        }
+        
+        public String getUsername() {
+            return username;
+        }
+        
+        public void setUsername(String username) {
+            this.username = username;
+        }
+        
+        public String getPassword() {
+            return password;
+        }
+        
+        public void setPassword(String password) {
+            this.password = password;
+        }
+        
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+        
+        public void setMaximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+        
+        public long getConnectionTimeoutMs() {
+            return connectionTimeoutMs;
+        }
+        
+        public void setConnectionTimeoutMs(long connectionTimeoutMs) {
+            this.connectionTimeoutMs = connectionTimeoutMs;
+        }
+    }
+}
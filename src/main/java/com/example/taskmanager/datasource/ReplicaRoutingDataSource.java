@@ -0,0 +1,158 @@
+package com.example.taskmanager.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read-only DataSource over the replica pools.
+ * Picks a healthy replica (round-robin or least busy); if the caller must read
+ * its own writes, or no replica is reachable, the primary is used instead.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements DisposableBean {
+    
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReplicaProperties.Strategy strategy;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    
+    private final Counter replicaConnections;
+    private final Counter primaryConnections;
+    
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicaPools, ReplicaProperties.Strategy strategy,
+                                    ReadYourWritesTracker readYourWritesTracker, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.strategy = strategy;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.replicas = new ArrayList<>(replicaPools.size());
+        for (HikariDataSource pool : replicaPools) {
+            replicas.add(new Replica(pool));
+        }
+        
+        this.replicaConnections = Counter.builder("taskmanager.datasource.read.connections").tag("target", "replica").register(meterRegistry);
+        this.primaryConnections = Counter.builder("taskmanager.datasource.read.connections").tag("target", "primary").register(meterRegistry);
+        Gauge.builder("taskmanager.datasource.replicas.healthy", replicas, list -> list.stream().filter(r -> r.healthy).count())
+                .register(meterRegistry);
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (readYourWritesTracker.mustReadPrimary()) {
+            primaryConnections.increment();
+            return primary.getConnection();
+        }
+        
+        for (Replica replica : candidates()) {
+            try {
+                Connection connection = replica.pool.getConnection();
+                replicaConnections.increment();
+                return connection;
+            } catch (SQLException e) {
+                // bir sonraki health check'e kadar bu replica atlanır
+                replica.markDown(e);
+            }
+        }
+        
+        primaryConnections.increment();
+        return primary.getConnection();
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica connections use the configured pool credentials");
+    }
+    
+    @Scheduled(fixedDelayString = "${datasource.replica.health-check-interval-ms:5000}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.pool.getConnection()) {
+                if (connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    replica.markUp();
+                } else {
+                    replica.markDown(null);
+                }
+            } catch (SQLException e) {
+                replica.markDown(e);
+            }
+        }
+    }
+    
+    @Override
+    public void destroy() {
+        for (Replica replica : replicas) {
+            replica.pool.close();
+        }
+    }
+    
+    private List<Replica> candidates() {
+        List<Replica> healthy = new ArrayList<>(replicas.size());
+        if (strategy == ReplicaProperties.Strategy.LEAST_BUSY) {
+            for (Replica replica : replicas) {
+                if (replica.healthy) {
+                    healthy.add(replica);
+                }
+            }
+            healthy.sort(Comparator.comparingInt(Replica::activeConnections));
+            return healthy;
+        }
+        
+        // round-robin: her çağrıda başlangıç replica'sı bir kayar
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(replicas.size(), 1));
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.healthy) {
+                healthy.add(replica);
+            }
+        }
+        return healthy;
+    }
+    
+    private static final class Replica {
+        private final HikariDataSource pool;
+        private volatile boolean healthy = true;
+        
+        private Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+        
+        private int activeConnections() {
+            HikariPoolMXBean bean = pool.getHikariPoolMXBean();
+            return bean != null ? bean.getActiveConnections() : 0;
+        }
+        
+        private void markUp() {
+            if (!healthy) {
+                log.info("Replica {} is reachable again", pool.getPoolName());
+            }
+            healthy = true;
+        }
+        
+        private void markDown(SQLException cause) {
+            if (healthy) {
+                log.warn("Replica {} marked down, reads fall back to other replicas or the primary: {}",
+                        pool.getPoolName(), cause != null ? cause.getMessage() : "connection not valid");
+            }
+            healthy = false;
+        }
+    }
+}
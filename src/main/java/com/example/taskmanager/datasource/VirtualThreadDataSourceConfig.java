@@ -0,0 +1,40 @@
+package com.example.taskmanager.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Active only when requests run on virtual threads (Java 21 and
+ * spring.threads.virtual.enabled=true): wraps the application DataSource in a
+ * {@link ConcurrencyLimitedDataSource} sized to the Hikari pool.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadDataSourceConfig {
+    
+    // BeanPostProcessor static olmalı, aksi halde config sınıfı erken oluşturulur
+    @Bean
+    public static BeanPostProcessor concurrencyLimitingPostProcessor(Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                int limit = environment.getProperty("db.concurrency.limit", Integer.class,
+                        environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+                long acquireTimeoutMs = environment.getProperty("db.concurrency.acquire-timeout-ms", Long.class,
+                        environment.getProperty("spring.datasource.hikari.connection-timeout", Long.class, 30000L));
+                return new ConcurrencyLimitedDataSource(dataSource, limit, acquireTimeoutMs, meterRegistry.getObject());
+            }
+        };
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.taskmanager.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BulkDeleteTaskRequest {
+    @NotEmpty(message = "At least one task id is required")
+    @Size(max = 1000, message = "A bulk request cannot contain more than 1000 tasks")
+    private List<@NotNull Long> taskIds;
+    
+    public List<Long> getTaskIds() {
+        return taskIds;
+    }
+    
+    public void setTaskIds(List<Long> taskIds) {
+        this.taskIds = taskIds;
+    }
+}
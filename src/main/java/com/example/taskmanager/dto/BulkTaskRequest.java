@@ -0,0 +1,22 @@
+package com.example.taskmanager.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BulkTaskRequest {
+    @NotEmpty(message = "At least one task is required")
+    @Size(max = 1000, message = "A bulk request cannot contain more than 1000 tasks")
+    @Valid
+    private List<TaskRequest> tasks;
+    
+    public List<TaskRequest> getTasks() {
+        return tasks;
+    }
+    
+    public void setTasks(List<TaskRequest> tasks) {
+        this.tasks = tasks;
+    }
+}
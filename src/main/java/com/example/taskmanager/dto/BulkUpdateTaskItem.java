@@ -0,0 +1,17 @@
+package com.example.taskmanager.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+// toplu güncellemede tek bir görev: id + UpdateTaskRequest alanları
+public class BulkUpdateTaskItem extends UpdateTaskRequest {
+    @NotNull(message = "Task id is required")
+    private Long id;
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.taskmanager.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BulkUpdateTaskRequest {
+    @NotEmpty(message = "At least one task is required")
+    @Size(max = 1000, message = "A bulk request cannot contain more than 1000 tasks")
+    @Valid
+    private List<BulkUpdateTaskItem> tasks;
+    
+    public List<BulkUpdateTaskItem> getTasks() {
+        return tasks;
+    }
+    
+    public void setTasks(List<BulkUpdateTaskItem> tasks) {
+        this.tasks = tasks;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.taskmanager.dto;
+
+import com.example.taskmanager.entity.TaskStatus;
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the delta sync feed: the current state of an inserted/updated
+ * task (UPSERT), or the id of a task that left the caller's scope (DELETE).
+ */
+public class TaskChange {
+    
+    public enum Type {
+        UPSERT, DELETE
+    }
+    
+    private long seq;
+    private Type type;
+    private Long taskId;
+    private TaskResponse task;   // DELETE için null
+    
+    // JPQL constructor expression: tasks tablosundan upsert
+    public TaskChange(Long seq, Long id, String title, String description, TaskStatus status,
+                      LocalDateTime createdDate, Long userId, String username) {
+        this.seq = seq;
+        this.type = Type.UPSERT;
+        this.taskId = id;
+        this.task = new TaskResponse(id, title, description, status, createdDate, userId, username);
+    }
+    
+    // JPQL constructor expression: task_tombstones tablosundan delete
+    public TaskChange(Long seq, Long taskId) {
+        this.seq = seq;
+        this.type = Type.DELETE;
+        this.taskId = taskId;
+    }
+    
+    public long getSeq() {
+        return seq;
+    }
+    
+    public Type getType() {
+        return type;
+    }
+    
+    public Long getTaskId() {
+        return taskId;
+    }
+    
+    public TaskResponse getTask() {
+        return task;
+    }
+}
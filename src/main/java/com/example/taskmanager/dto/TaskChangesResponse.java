@@ -0,0 +1,38 @@
+package com.example.taskmanager.dto;
+
+import java.util.List;
+
+public class TaskChangesResponse {
+    private List<TaskChange> changes;
+    private long watermark;      // sonraki istekte since olarak gönderilir
+    private boolean hasMore;
+    private boolean resyncRequired;  // since silinmiş tombstone'ların altında: görevler baştan yüklenir, watermark'tan devam edilir
+    
+    public TaskChangesResponse(List<TaskChange> changes, long watermark, boolean hasMore) {
+        this.changes = changes;
+        this.watermark = watermark;
+        this.hasMore = hasMore;
+    }
+    
+    public static TaskChangesResponse resync(long watermark) {
+        TaskChangesResponse response = new TaskChangesResponse(List.of(), watermark, false);
+        response.resyncRequired = true;
+        return response;
+    }
+    
+    public List<TaskChange> getChanges() {
+        return changes;
+    }
+    
+    public long getWatermark() {
+        return watermark;
+    }
+    
+    public boolean isHasMore() {
+        return hasMore;
+    }
+    
+    public boolean isResyncRequired() {
+        return resyncRequired;
+    }
+}
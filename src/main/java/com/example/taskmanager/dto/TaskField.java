@@ -0,0 +1,60 @@
+package com.example.taskmanager.dto;
+
+import com.example.taskmanager.exception.ValidationException;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Selectable TaskSummaryResponse fields for GET /api/tasks?fields=...
+ * The id is always selected.
+ */
+public enum TaskField {
+    ID("id"),
+    TITLE("title"),
+    DESCRIPTION("description"),
+    STATUS("status"),
+    CREATED_DATE("createdDate"),
+    USER("user");
+    
+    private final String name;
+    
+    TaskField(String name) {
+        this.name = name;
+    }
+    
+    // "title,status" -> {ID, TITLE, STATUS}; bilinmeyen alan 400 döner
+    public static Set<TaskField> parse(String fields) {
+        Set<TaskField> parsed = EnumSet.of(ID);
+        if (fields == null) {
+            return parsed;
+        }
+        for (String part : fields.split(",")) {
+            String name = part.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            parsed.add(byName(name));
+        }
+        return parsed;
+    }
+    
+    // cache/ETag anahtarı: yazım sırasından bağımsız (enum sırası)
+    public static String format(Set<TaskField> fields) {
+        return fields.stream().map(TaskField::getName).collect(Collectors.joining(","));
+    }
+    
+    private static TaskField byName(String name) {
+        for (TaskField field : values()) {
+            if (field.name.equalsIgnoreCase(name)) {
+                return field;
+            }
+        }
+        throw new ValidationException("Unsupported field: " + name);
+    }
+    
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.taskmanager.dto;
+
+import java.util.List;
+
+public class TaskSliceResponse {
+    private List<TaskResponse> content;
+    private String nextCursor;
+    private boolean hasNext;
+    
+    public TaskSliceResponse(List<TaskResponse> content, String nextCursor, boolean hasNext) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+    
+    public List<TaskResponse> getContent() {
+        return content;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public boolean isHasNext() {
+        return hasNext;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.taskmanager.dto;
+
+import com.example.taskmanager.entity.TaskStatus;
+
+import java.util.Map;
+
+public class TaskStatsResponse {
+    private Long userId; // null: tüm kullanıcılar (admin)
+    private Map<TaskStatus, Long> counts;
+    private long total;
+    
+    public TaskStatsResponse(Long userId, Map<TaskStatus, Long> counts) {
+        this.userId = userId;
+        this.counts = counts;
+        this.total = counts.values().stream().mapToLong(Long::longValue).sum();
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public Map<TaskStatus, Long> getCounts() {
+        return counts;
+    }
+    
+    public long getTotal() {
+        return total;
+    }
+}
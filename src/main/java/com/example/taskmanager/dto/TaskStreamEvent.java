@@ -0,0 +1,73 @@
+package com.example.taskmanager.dto;
+
+import com.example.taskmanager.entity.TaskStatus;
+import com.example.taskmanager.event.TaskChangedEvent;
+
+/**
+ * Payload of a {@code task} event on GET /api/tasks/stream.
+ * DELETED means the task left the subscriber's scope (deleted, or reassigned
+ * away from a non-admin subscriber); only taskId, changeSeq and ownerId are
+ * set then. changeSeq is the change's own sequence, as in GET /api/tasks/changes.
+ */
+public class TaskStreamEvent {
+    
+    private TaskChangedEvent.Type type;
+    private Long taskId;
+    private long changeSeq;
+    private Long ownerId;
+    private TaskStatus status;
+    private String title;
+    private String description;
+    
+    private TaskStreamEvent(TaskChangedEvent.Type type, Long taskId, long changeSeq, Long ownerId,
+                            TaskStatus status, String title, String description) {
+        this.type = type;
+        this.taskId = taskId;
+        this.changeSeq = changeSeq;
+        this.ownerId = ownerId;
+        this.status = status;
+        this.title = title;
+        this.description = description;
+    }
+    
+    public static TaskStreamEvent of(TaskChangedEvent event) {
+        if (event.getType() == TaskChangedEvent.Type.DELETED) {
+            return removed(event.getTaskId(), event.getChangeSeq(), event.getPreviousOwnerId());
+        }
+        return new TaskStreamEvent(event.getType(), event.getTaskId(), event.getChangeSeq(), event.getOwnerId(),
+                event.getStatus(), event.getTitle(), event.getDescription());
+    }
+    
+    // görev abonenin kapsamından çıktı (ownerId: çıktığı sahip)
+    public static TaskStreamEvent removed(Long taskId, long changeSeq, Long ownerId) {
+        return new TaskStreamEvent(TaskChangedEvent.Type.DELETED, taskId, changeSeq, ownerId, null, null, null);
+    }
+    
+    public TaskChangedEvent.Type getType() {
+        return type;
+    }
+    
+    public Long getTaskId() {
+        return taskId;
+    }
+    
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+    
+    public Long getOwnerId() {
+        return ownerId;
+    }
+    
+    public TaskStatus getStatus() {
+        return status;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.taskmanager.dto;
+
+import com.example.taskmanager.entity.TaskStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.time.LocalDateTime;
+
+/**
+ * Compact task list item for GET /api/tasks?fields=...
+ * Only the selected columns are read; unselected (and null) fields are left
+ * out of the JSON.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskSummaryResponse {
+    private Long id;
+    private String title;
+    private String description;
+    private TaskStatus status;
+    private LocalDateTime createdDate;
+    private TaskResponse.UserInfo user;
+    
+    public TaskSummaryResponse(Long id, String title, String description, TaskStatus status,
+                               LocalDateTime createdDate, TaskResponse.UserInfo user) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.status = status;
+        this.createdDate = createdDate;
+        this.user = user;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public TaskStatus getStatus() {
+        return status;
+    }
+    
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+    
+    public TaskResponse.UserInfo getUser() {
+        return user;
+    }
+}
@@ -1,14 +1,29 @@
 package com.example.taskmanager.entity;
 
+import com.example.taskmanager.sync.TaskChangeListener;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+    // TaskRepository sorgu şekilleri: filtre kolonları + created_date DESC, id DESC (sıralama index'ten gelir)
+    @Index(name = "idx_tasks_user_status_created", columnList = "user_id, status, created_date DESC, id DESC"),
+    // user_id DESC: sadece user_id filtreli sorgular ORDER BY user_id DESC, created_date DESC, id DESC ile gelir (sabit kolon,
+    // sonucu değiştirmez). H2 FK için ayrıca (user_id) index'i kurar, sıralamanın tamamı bu index'le eşleşmezse onu seçip sıralar
+    @Index(name = "idx_tasks_user_created", columnList = "user_id DESC, created_date DESC, id DESC"),
+    @Index(name = "idx_tasks_status_created", columnList = "status, created_date DESC, id DESC"),
+    @Index(name = "idx_tasks_created", columnList = "created_date DESC, id DESC"),
+    // delta sync: change_seq > ? (admin) ve user_id = ? AND change_seq > ? (user)
+    @Index(name = "idx_tasks_change_seq", columnList = "change_seq"),
+    @Index(name = "idx_tasks_user_change_seq", columnList = "user_id, change_seq")
+})
+@EntityListeners(TaskChangeListener.class)
 public class Task {
     
+    // IDENTITY JDBC insert batching'i kapatır; pooled sequence ile id'ler 50'lik bloklar halinde alınır
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -28,6 +43,10 @@ public class Task {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
     
+    // her insert/update'te artan değişiklik sırası (TaskChangeListener atar), delta sync watermark'ı
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq;
+    
     
     public Task() {
     }
@@ -57,6 +76,10 @@ public class Task {
         return user;
     }
     
+    public Long getChangeSeq() {
+        return changeSeq;
+    }
+    
    
     public void setTitle(String title) {
         this.title = title;
@@ -77,5 +100,9 @@ public class Task {
     public void setCreatedDate(LocalDateTime createdDate) {
         this.createdDate = createdDate;
     }
+    
+    public void setChangeSeq(Long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
 }
 
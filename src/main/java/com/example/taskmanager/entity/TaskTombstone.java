@@ -0,0 +1,78 @@
+package com.example.taskmanager.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Marks a task that left an owner's scope (deleted, or reassigned to another
+ * user), so delta sync clients can drop it. Tasks are hard-deleted; the
+ * tombstone keeps the change sequence of the removal.
+ */
+@Entity
+@Table(name = "task_tombstones", indexes = {
+    @Index(name = "idx_task_tombstones_change_seq", columnList = "change_seq"),
+    @Index(name = "idx_task_tombstones_owner_change_seq", columnList = "owner_id, change_seq"),
+    @Index(name = "idx_task_tombstones_removed_date", columnList = "removed_date")
+})
+public class TaskTombstone {
+    
+    // toplu silmede insert'ler batch'lenebilsin diye pooled sequence
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_tombstones_seq")
+    @SequenceGenerator(name = "task_tombstones_seq", sequenceName = "task_tombstones_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+    
+    // görevin kapsamından çıktığı kullanıcı
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+    
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq;
+    
+    // true: görev silinmedi, başka kullanıcıya geçti (admin kapsamında hâlâ var)
+    @Column(nullable = false)
+    private boolean reassigned;
+    
+    @Column(nullable = false)
+    private LocalDateTime removedDate;
+    
+    
+    public TaskTombstone() {
+    }
+    
+    public TaskTombstone(Long taskId, Long ownerId, Long changeSeq, boolean reassigned, LocalDateTime removedDate) {
+        this.taskId = taskId;
+        this.ownerId = ownerId;
+        this.changeSeq = changeSeq;
+        this.reassigned = reassigned;
+        this.removedDate = removedDate;
+    }
+    
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public Long getTaskId() {
+        return taskId;
+    }
+    
+    public Long getOwnerId() {
+        return ownerId;
+    }
+    
+    public Long getChangeSeq() {
+        return changeSeq;
+    }
+    
+    public boolean isReassigned() {
+        return reassigned;
+    }
+    
+    public LocalDateTime getRemovedDate() {
+        return removedDate;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.taskmanager.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Record of a tombstone purge. The highest purgedThrough is the sync
+ * horizon: a delta sync from below it may miss deletions and has to resync.
+ */
+@Entity
+@Table(name = "task_tombstone_purges")
+public class TaskTombstonePurge {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    // bu change_seq'e kadar (dahil) tüm tombstone'lar silindi
+    @Column(name = "purged_through", nullable = false)
+    private Long purgedThrough;
+    
+    @Column(nullable = false)
+    private int deletedCount;
+    
+    @Column(nullable = false)
+    private LocalDateTime purgedDate;
+    
+    
+    public TaskTombstonePurge() {
+    }
+    
+    public TaskTombstonePurge(Long purgedThrough, int deletedCount, LocalDateTime purgedDate) {
+        this.purgedThrough = purgedThrough;
+        this.deletedCount = deletedCount;
+        this.purgedDate = purgedDate;
+    }
+    
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public Long getPurgedThrough() {
+        return purgedThrough;
+    }
+    
+    public int getDeletedCount() {
+        return deletedCount;
+    }
+    
+    public LocalDateTime getPurgedDate() {
+        return purgedDate;
+    }
+}
@@ -1,15 +1,26 @@
 package com.example.taskmanager.entity;
 
+import com.example.taskmanager.cache.UserChangeListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
+// kullanıcılar nadiren değişir: id ve username lookup'ları second-level cache'ten gelir
 @Entity
 @Table(name = "users")
+@EntityListeners(UserChangeListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+// natural id region adında "##" olmamalı, Caffeine config path olarak parse ediyor
+@NaturalIdCache(region = "user-username")
 public class User {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
+    @NaturalId
     @Column(unique = true, nullable = false)
     private String username;
     
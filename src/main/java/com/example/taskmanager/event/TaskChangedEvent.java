@@ -0,0 +1,93 @@
+package com.example.taskmanager.event;
+
+import com.example.taskmanager.entity.TaskStatus;
+
+/**
+ * Published by the task service for every created, updated or deleted task.
+ * Carries the owner and status before and after the change, so listeners can
+ * maintain derived state (counters, indexes) without reloading the task, and
+ * the change sequence the write was stamped with (the task row's change_seq,
+ * or the tombstone's for a delete).
+ */
+public class TaskChangedEvent {
+    
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+    
+    private final Type type;
+    private final Long taskId;
+    private final long changeSeq;
+    
+    // CREATED için previous alanları, DELETED için yeni alanlar null
+    private final Long previousOwnerId;
+    private final TaskStatus previousStatus;
+    private final Long ownerId;
+    private final TaskStatus status;
+    private final String title;
+    private final String description;
+    
+    private TaskChangedEvent(Type type, Long taskId, long changeSeq, Long previousOwnerId, TaskStatus previousStatus,
+                             Long ownerId, TaskStatus status, String title, String description) {
+        this.type = type;
+        this.taskId = taskId;
+        this.changeSeq = changeSeq;
+        this.previousOwnerId = previousOwnerId;
+        this.previousStatus = previousStatus;
+        this.ownerId = ownerId;
+        this.status = status;
+        this.title = title;
+        this.description = description;
+    }
+    
+    public static TaskChangedEvent created(Long taskId, long changeSeq, Long ownerId, TaskStatus status,
+                                           String title, String description) {
+        return new TaskChangedEvent(Type.CREATED, taskId, changeSeq, null, null, ownerId, status, title, description);
+    }
+    
+    public static TaskChangedEvent updated(Long taskId, long changeSeq, Long previousOwnerId, TaskStatus previousStatus,
+                                           Long ownerId, TaskStatus status, String title, String description) {
+        return new TaskChangedEvent(Type.UPDATED, taskId, changeSeq, previousOwnerId, previousStatus, ownerId, status,
+                title, description);
+    }
+    
+    public static TaskChangedEvent deleted(Long taskId, long changeSeq, Long previousOwnerId, TaskStatus previousStatus) {
+        return new TaskChangedEvent(Type.DELETED, taskId, changeSeq, previousOwnerId, previousStatus, null, null, null, null);
+    }
+    
+    public Type getType() {
+        return type;
+    }
+    
+    public Long getTaskId() {
+        return taskId;
+    }
+    
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+    
+    public Long getPreviousOwnerId() {
+        return previousOwnerId;
+    }
+    
+    public TaskStatus getPreviousStatus() {
+        return previousStatus;
+    }
+    
+    public Long getOwnerId() {
+        return ownerId;
+    }
+    
+    public TaskStatus getStatus() {
+        return status;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+}
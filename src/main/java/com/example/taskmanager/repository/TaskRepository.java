@@ -1,22 +1,127 @@
 package com.example.taskmanager.repository;
 
+import com.example.taskmanager.dto.TaskChange;
+import com.example.taskmanager.dto.TaskResponse;
 import com.example.taskmanager.entity.Task;
 import com.example.taskmanager.entity.TaskStatus;
-import org.springframework.data.domain.Page;
+import com.example.taskmanager.entity.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
+    
+    String EXPORT_FETCH_SIZE = "500";
+    
+    // Listeleme sorguları entity yerine doğrudan TaskResponse döner (constructor expression):
+    // username JOIN ile aynı SELECT'te gelir, lazy user yüklenmez (N+1 yok), persistence context'e entity girmez.
+    // Filtre t.user.id üzerinden doğrudan tasks.user_id FK kolonuna gider, index kullanılır.
+    
+    // Slice döner: COUNT(*) atılmaz, size + 1 satır okunup sonraki sayfa olup olmadığı anlaşılır.
+    // Toplam sayı gerekiyorsa TaskStatusCounters'tan gelir.
+    
+    // SELECT t.id, t.title, ..., u.id, u.username FROM tasks t JOIN users u ON u.id = t.user_id ORDER BY ... LIMIT ? OFFSET ?
+    @Query(value = "SELECT new com.example.taskmanager.dto.TaskResponse(t.id, t.title, t.description, t.status, t.createdDate, u.id, u.username) "
+            + "FROM Task t JOIN t.user u")
+    Slice<TaskResponse> findAllResponses(Pageable pageable);
+    
+    // ... WHERE t.user_id = ? ORDER BY t.user_id DESC, ... LIMIT ? OFFSET ? (user_id önekiyle sıralama idx_tasks_user_created'tan gelir).
+    // JOIN t.user u olsaydı t.user.id users.id'ye çözülürdü; ON ile join'de tasks.user_id kolonunda kalır
+    @Query(value = "SELECT new com.example.taskmanager.dto.TaskResponse(t.id, t.title, t.description, t.status, t.createdDate, u.id, u.username) "
+            + "FROM Task t JOIN User u ON u.id = t.user.id WHERE t.user.id = :userId ORDER BY t.user.id DESC")
+    Slice<TaskResponse> findResponsesByUserId(Long userId, Pageable pageable);
+    
+    // ... WHERE t.user_id = ? AND t.status = ? ORDER BY ... LIMIT ? OFFSET ?
+    @Query(value = "SELECT new com.example.taskmanager.dto.TaskResponse(t.id, t.title, t.description, t.status, t.createdDate, u.id, u.username) "
+            + "FROM Task t JOIN t.user u WHERE t.user.id = :userId AND t.status = :status")
+    Slice<TaskResponse> findResponsesByUserIdAndStatus(Long userId, TaskStatus status, Pageable pageable);
+    
+    // ... WHERE t.status = ? ORDER BY ... LIMIT ? OFFSET ?
+    @Query(value = "SELECT new com.example.taskmanager.dto.TaskResponse(t.id, t.title, t.description, t.status, t.createdDate, u.id, u.username) "
+            + "FROM Task t JOIN t.user u WHERE t.status = :status")
+    Slice<TaskResponse> findResponsesByStatus(TaskStatus status, Pageable pageable);
+    
+    // Export sorguları: Stream döner, satırlar JDBC fetch size'lık parçalarla okunur.
+    // DTO projection olduğu için persistence context'e hiçbir şey girmez, heap satır sayısından bağımsız kalır.
+    // Sıralama listeleme ile aynı (created_date DESC, id DESC), aynı index'ler kullanılır. Transaction içinde tüketilmeli.
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT new com.example.taskmanager.dto.TaskResponse(t.id, t.title, t.description, t.status, t.createdDate, u.id, u.username) "
+            + "FROM Task t JOIN t.user u ORDER BY t.createdDate DESC, t.id DESC")
+    Stream<TaskResponse> streamAllResponses();
     
-    // SELECT * FROM tasks WHERE user_id = ? ORDER BY ... LIMIT ? OFFSET ?
-    Page<Task> findByUserId(Long userId, Pageable pageable);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT new com.example.taskmanager.dto.TaskResponse(t.id, t.title, t.description, t.status, t.createdDate, u.id, u.username) "
+            + "FROM Task t JOIN User u ON u.id = t.user.id WHERE t.user.id = :userId ORDER BY t.user.id DESC, t.createdDate DESC, t.id DESC")
+    Stream<TaskResponse> streamResponsesByUserId(Long userId);
     
-    // SELECT * FROM tasks WHERE user_id = ? AND status = ? ORDER BY ... LIMIT ? OFFSET ?
-    Page<Task> findByUserIdAndStatus(Long userId, TaskStatus status, Pageable pageable);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT new com.example.taskmanager.dto.TaskResponse(t.id, t.title, t.description, t.status, t.createdDate, u.id, u.username) "
+            + "FROM Task t JOIN t.user u WHERE t.user.id = :userId AND t.status = :status ORDER BY t.createdDate DESC, t.id DESC")
+    Stream<TaskResponse> streamResponsesByUserIdAndStatus(Long userId, TaskStatus status);
     
-    // SELECT * FROM tasks WHERE status = ? ORDER BY ... LIMIT ? OFFSET ?
-    Page<Task> findByStatus(TaskStatus status, Pageable pageable);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT new com.example.taskmanager.dto.TaskResponse(t.id, t.title, t.description, t.status, t.createdDate, u.id, u.username) "
+            + "FROM Task t JOIN t.user u WHERE t.status = :status ORDER BY t.createdDate DESC, t.id DESC")
+    Stream<TaskResponse> streamResponsesByStatus(TaskStatus status);
+    
+    // arama sonuçları: index'ten gelen id'ler için tek SELECT ... WHERE t.id IN (...) (PK lookup)
+    @Query("SELECT new com.example.taskmanager.dto.TaskResponse(t.id, t.title, t.description, t.status, t.createdDate, u.id, u.username) "
+            + "FROM Task t JOIN t.user u WHERE t.id IN :ids")
+    List<TaskResponse> findResponsesByIdIn(Collection<Long> ids);
+    
+    // status sayaçlarının reconciliation'ı: [userId, status, count] satırları
+    @Query("SELECT t.user.id, t.status, COUNT(t) FROM Task t GROUP BY t.user.id, t.status")
+    List<Object[]> countByUserAndStatus();
+    
+    // Delta sync: son watermark'tan sonra eklenen/güncellenen görevler, change_seq sırasıyla (index'ten okunur)
+    // SELECT t.change_seq, t.id, ..., u.id, u.username FROM tasks t JOIN users u ... WHERE t.change_seq > ? AND t.change_seq <= ? ORDER BY t.change_seq
+    @Query("SELECT new com.example.taskmanager.dto.TaskChange(t.changeSeq, t.id, t.title, t.description, t.status, t.createdDate, u.id, u.username) "
+            + "FROM Task t JOIN t.user u WHERE t.changeSeq > :since AND t.changeSeq <= :until ORDER BY t.changeSeq")
+    List<TaskChange> findChangesAfter(long since, long until, Limit limit);
+    
+    // ... WHERE t.user_id = ? AND t.change_seq > ? AND t.change_seq <= ? ORDER BY t.change_seq
+    @Query("SELECT new com.example.taskmanager.dto.TaskChange(t.changeSeq, t.id, t.title, t.description, t.status, t.createdDate, u.id, u.username) "
+            + "FROM Task t JOIN t.user u WHERE t.user.id = :userId AND t.changeSeq > :since AND t.changeSeq <= :until ORDER BY t.changeSeq")
+    List<TaskChange> findChangesByUserIdAfter(Long userId, long since, long until, Limit limit);
+    
+    // Tekil update/delete: yetki WHERE'de, satır yazma için kilitlenir (commit'e kadar). Eşzamanlı yazan bu okumada
+    // sırasını bekler; okunan önceki hal (sahip, status) bu yüzden yazılan satırla aynıdır, son yazan kazanır.
+    // username JOIN yerine alt sorguyla gelir: FOR UPDATE sadece tasks satırını kilitler, users satırını değil
+    // SELECT t.id, ..., t.user_id, (SELECT u.username ...) FROM tasks t WHERE t.id = ? AND (t.user_id = ? OR ?) FOR UPDATE
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.example.taskmanager.dto.TaskResponse(t.id, t.title, t.description, t.status, t.createdDate, t.user.id, "
+            + "(SELECT u.username FROM User u WHERE u.id = t.user.id)) "
+            + "FROM Task t WHERE t.id = :id AND (t.user.id = :callerId OR :isAdmin = true)")
+    Optional<TaskResponse> findAuthorizedForWrite(Long id, Long callerId, boolean isAdmin);
+    
+    // kilitli satırın tek statement'la güncellenmesi: UPDATE tasks SET ... WHERE id = ?
+    @Modifying
+    @Query("UPDATE Task t SET t.title = :title, t.description = :description, t.status = :status, t.user = :owner, "
+            + "t.changeSeq = :changeSeq WHERE t.id = :id")
+    int updateLocked(Long id, String title, String description, TaskStatus status, User owner, long changeSeq);
+    
+    // DELETE FROM tasks WHERE id = ?
+    @Modifying
+    @Query("DELETE FROM Task t WHERE t.id = :id")
+    int deleteLocked(Long id);
+    
+    // toplu güncelleme: SELECT * FROM tasks t JOIN users u ON u.id = t.user_id WHERE t.id IN (...)
+    @Query("SELECT t FROM Task t JOIN FETCH t.user WHERE t.id IN :ids")
+    List<Task> findAllWithUserByIdIn(Collection<Long> ids);
 }
-
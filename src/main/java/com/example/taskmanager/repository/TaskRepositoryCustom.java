@@ -0,0 +1,26 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.dto.TaskCursor;
+import com.example.taskmanager.dto.TaskField;
+import com.example.taskmanager.dto.TaskResponse;
+import com.example.taskmanager.dto.TaskSummaryResponse;
+import com.example.taskmanager.entity.TaskStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.Set;
+
+public interface TaskRepositoryCustom {
+    
+    // Keyset pagination: ORDER BY created_date DESC, id DESC, COUNT sorgusu atılmaz
+    // sonuç doğrudan TaskResponse'a project edilir (users JOIN, entity yüklenmez)
+    // userId null ise tüm görevler (admin), status null ise filtre yok, after null ise ilk sayfa
+    // SELECT t.id, ..., u.username FROM tasks t JOIN users u ON u.id = t.user_id WHERE [t.user_id = ?] [AND status = ?]
+    //   [AND (created_date < ? OR (created_date = ? AND id < ?))] ORDER BY created_date DESC, id DESC LIMIT ?
+    Slice<TaskResponse> findSliceAfter(Long userId, TaskStatus status, TaskCursor after, int size);
+    
+    // Sparse fieldset listeleme: sadece seçilen kolonlar SELECT'e girer, users JOIN'i sadece USER seçiliyse
+    // userId null ise tüm görevler (admin), status null ise filtre yok; Slice döner (COUNT yok)
+    // SELECT t.id, t.title, t.status FROM tasks t WHERE [t.user_id = ?] [AND status = ?] ORDER BY ... LIMIT ? OFFSET ?
+    Slice<TaskSummaryResponse> findSummaries(Long userId, TaskStatus status, Set<TaskField> fields, Pageable pageable);
+}
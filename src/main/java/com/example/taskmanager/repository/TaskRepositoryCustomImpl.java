@@ -0,0 +1,152 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.dto.TaskCursor;
+import com.example.taskmanager.dto.TaskField;
+import com.example.taskmanager.dto.TaskResponse;
+import com.example.taskmanager.dto.TaskSummaryResponse;
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.entity.TaskStatus;
+import com.example.taskmanager.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public Slice<TaskResponse> findSliceAfter(Long userId, TaskStatus status, TaskCursor after, int size) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskResponse> query = cb.createQuery(TaskResponse.class);
+        Root<Task> task = query.from(Task.class);
+        Join<Task, User> user = task.join("user");
+        Path<LocalDateTime> createdDate = task.get("createdDate");
+        Path<Long> id = task.get("id");
+        
+        query.select(cb.construct(TaskResponse.class,
+            id, task.get("title"), task.get("description"), task.get("status"), createdDate,
+            user.get("id"), user.get("username")));
+        
+        List<Predicate> predicates = new ArrayList<>();
+        if (userId != null) {
+            predicates.add(cb.equal(task.get("user").get("id"), userId));
+        }
+        if (status != null) {
+            predicates.add(cb.equal(task.get("status"), status));
+        }
+        if (after != null) {
+            // (created_date, id) < (cursor.createdDate, cursor.id)
+            predicates.add(cb.or(
+                cb.lessThan(createdDate, after.getCreatedDate()),
+                cb.and(cb.equal(createdDate, after.getCreatedDate()), cb.lessThan(id, after.getId()))
+            ));
+        }
+        
+        query.where(predicates.toArray(new Predicate[0]));
+        List<Order> orders = new ArrayList<>();
+        addUserPrefix(orders, cb, task, userId, status);
+        orders.add(cb.desc(createdDate));
+        orders.add(cb.desc(id));
+        query.orderBy(orders);
+        
+        // bir fazla satır okunur, sonraki sayfa olup olmadığı COUNT'suz anlaşılır
+        List<TaskResponse> rows = entityManager.createQuery(query)
+                .setMaxResults(size + 1)
+                .getResultList();
+        
+        boolean hasNext = rows.size() > size;
+        List<TaskResponse> content = hasNext ? rows.subList(0, size) : rows;
+        return new SliceImpl<>(content, PageRequest.of(0, size), hasNext);
+    }
+    
+    @Override
+    public Slice<TaskSummaryResponse> findSummaries(Long userId, TaskStatus status, Set<TaskField> fields, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> task = query.from(Task.class);
+        
+        // seçilmeyen kolonlar (özellikle description) DB'den hiç okunmaz
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(task.get("id").alias("id"));
+        if (fields.contains(TaskField.TITLE)) {
+            selections.add(task.get("title").alias("title"));
+        }
+        if (fields.contains(TaskField.DESCRIPTION)) {
+            selections.add(task.get("description").alias("description"));
+        }
+        if (fields.contains(TaskField.STATUS)) {
+            selections.add(task.get("status").alias("status"));
+        }
+        if (fields.contains(TaskField.CREATED_DATE)) {
+            selections.add(task.get("createdDate").alias("createdDate"));
+        }
+        if (fields.contains(TaskField.USER)) {
+            Join<Task, User> user = task.join("user");
+            selections.add(user.get("id").alias("userId"));
+            selections.add(user.get("username").alias("username"));
+        }
+        query.multiselect(selections);
+        
+        List<Predicate> predicates = new ArrayList<>();
+        if (userId != null) {
+            predicates.add(cb.equal(task.get("user").get("id"), userId));
+        }
+        if (status != null) {
+            predicates.add(cb.equal(task.get("status"), status));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        List<Order> orders = new ArrayList<>();
+        addUserPrefix(orders, cb, task, userId, status);
+        orders.addAll(QueryUtils.toOrders(pageable.getSort(), task, cb));
+        query.orderBy(orders);
+        
+        // bir fazla satır okunur, sonraki sayfa olup olmadığı COUNT'suz anlaşılır
+        List<Tuple> rows = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        List<TaskSummaryResponse> content = new ArrayList<>(Math.min(rows.size(), pageable.getPageSize()));
+        for (Tuple row : hasNext ? rows.subList(0, pageable.getPageSize()) : rows) {
+            content.add(new TaskSummaryResponse(
+                row.get("id", Long.class),
+                fields.contains(TaskField.TITLE) ? row.get("title", String.class) : null,
+                fields.contains(TaskField.DESCRIPTION) ? row.get("description", String.class) : null,
+                fields.contains(TaskField.STATUS) ? row.get("status", TaskStatus.class) : null,
+                fields.contains(TaskField.CREATED_DATE) ? row.get("createdDate", LocalDateTime.class) : null,
+                fields.contains(TaskField.USER)
+                    ? new TaskResponse.UserInfo(row.get("userId", Long.class), row.get("username", String.class))
+                    : null
+            ));
+        }
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+    
+    // sadece user_id filtresi: ORDER BY user_id DESC önekiyle sıralama idx_tasks_user_created'tan gelir (bkz. Task)
+    private static void addUserPrefix(List<Order> orders, CriteriaBuilder cb, Root<Task> task, Long userId, TaskStatus status) {
+        if (userId != null && status == null) {
+            orders.add(cb.desc(task.get("user").get("id")));
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.entity.TaskTombstonePurge;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TaskTombstonePurgeRepository extends JpaRepository<TaskTombstonePurge, Long> {
+    
+    // delta sync'in kullanılabilir en küçük since değeri; hiç purge yoksa 0
+    // SELECT COALESCE(MAX(purged_through), 0) FROM task_tombstone_purges
+    @Query("SELECT COALESCE(MAX(p.purgedThrough), 0) FROM TaskTombstonePurge p")
+    long findHorizon();
+}
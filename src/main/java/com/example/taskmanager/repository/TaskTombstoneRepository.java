@@ -0,0 +1,38 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.dto.TaskChange;
+import com.example.taskmanager.entity.TaskTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+    
+    // admin kapsamı: sadece gerçekten silinen görevler (başka kullanıcıya geçen görev hâlâ listede)
+    // SELECT ... FROM task_tombstones WHERE change_seq > ? AND change_seq <= ? AND reassigned = false ORDER BY change_seq
+    @Query("SELECT new com.example.taskmanager.dto.TaskChange(tb.changeSeq, tb.taskId) FROM TaskTombstone tb "
+            + "WHERE tb.changeSeq > :since AND tb.changeSeq <= :until AND tb.reassigned = false ORDER BY tb.changeSeq")
+    List<TaskChange> findDeletionsAfter(long since, long until, Limit limit);
+    
+    // user kapsamı: kullanıcının silinen ve başkasına geçen görevleri
+    // ... WHERE owner_id = ? AND change_seq > ? AND change_seq <= ? ORDER BY change_seq
+    @Query("SELECT new com.example.taskmanager.dto.TaskChange(tb.changeSeq, tb.taskId) FROM TaskTombstone tb "
+            + "WHERE tb.ownerId = :ownerId AND tb.changeSeq > :since AND tb.changeSeq <= :until ORDER BY tb.changeSeq")
+    List<TaskChange> findDeletionsByOwnerIdAfter(Long ownerId, long since, long until, Limit limit);
+    
+    // retention: cutoff'tan önce yazılan en yeni tombstone'un sequence'i
+    // SELECT MAX(change_seq) FROM task_tombstones WHERE removed_date < ?
+    @Query("SELECT MAX(tb.changeSeq) FROM TaskTombstone tb WHERE tb.removedDate < :cutoff")
+    Long findMaxChangeSeqRemovedBefore(LocalDateTime cutoff);
+    
+    // DELETE FROM task_tombstones WHERE change_seq <= ?
+    @Modifying
+    @Query("DELETE FROM TaskTombstone tb WHERE tb.changeSeq <= :through")
+    int deleteThrough(long through);
+}
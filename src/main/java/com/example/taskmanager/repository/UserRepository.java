@@ -1,18 +1,23 @@
 package com.example.taskmanager.repository;
 
+import com.example.taskmanager.dto.UserResponse;
 import com.example.taskmanager.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.util.List;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
     
-    // SELECT * FROM users WHERE username = ?
-    Optional<User> findByUsername(String username);
+    // findByUsername UserRepositoryCustomImpl'de (natural id cache)
     
     // SELECT COUNT(*) > 0 FROM users WHERE username = ?
     boolean existsByUsername(String username);
+    
+    // SELECT id, username, role FROM users (password hash'leri belleğe alınmaz)
+    @Query("SELECT new com.example.taskmanager.dto.UserResponse(u.id, u.username, u.role) FROM User u")
+    List<UserResponse> findAllResponses();
 }
 
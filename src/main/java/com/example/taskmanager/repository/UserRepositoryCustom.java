@@ -0,0 +1,11 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.entity.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+    
+    // username natural id üzerinden: natural-id cache + entity cache, çoğu zaman SELECT atılmaz
+    Optional<User> findByUsername(String username);
+}
@@ -0,0 +1,25 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    // derived query (WHERE username = ?) second-level cache'i kullanmaz, natural id lookup kullanır;
+    // login transaction dışında çağrıldığı için Session'a erişim kendi read-only transaction'ında yapılır
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByUsername(String username) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(username);
+    }
+}
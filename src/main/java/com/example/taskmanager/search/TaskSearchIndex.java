@@ -0,0 +1,391 @@
+package com.example.taskmanager.search;
+
+import com.example.taskmanager.dto.TaskResponse;
+import com.example.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * In-process inverted index over task title and description (GET /api/tasks/search).
+ * Built once from the database at startup and kept current from TaskChangedEvent
+ * after each commit. Matching is OR over query terms, ranked by TF-IDF with
+ * title hits weighted higher.
+ * <p>
+ * Owner-scoped searches only score the postings of that owner's segment. Searches
+ * over all tasks walk impact-ordered global postings and stop as soon as no unseen
+ * task can enter the top results (threshold algorithm), so a frequent term does
+ * not mean scoring every task that contains it.
+ */
+@Component
+public class TaskSearchIndex {
+    
+    private static final Logger log = LoggerFactory.getLogger(TaskSearchIndex.class);
+    
+    // title'daki bir eşleşme description'daki eşleşmenin bu katı kadar sayılır
+    private static final int TITLE_WEIGHT = 3;
+    private static final int MIN_TOKEN_LENGTH = 2;
+    
+    // yüksek ağırlık önce, eşitlikte yeni görev (büyük id) önce
+    private static final Comparator<Posting> BY_IMPACT = Comparator
+            .comparingDouble((Posting p) -> p.weight).reversed()
+            .thenComparing(Comparator.comparingLong((Posting p) -> p.taskId).reversed());
+    
+    private final TaskRepository taskRepository;
+    
+    // tüm görevler: term -> postings (id ile erişim + ağırlığa göre sıralı)
+    private final Map<String, TermPostings> postings = new ConcurrentHashMap<>();
+    
+    // sahibe göre segment: ownerId -> term -> (taskId -> ağırlık)
+    private final Map<Long, Map<String, Map<Long, Float>>> ownerSegments = new ConcurrentHashMap<>();
+    
+    // taskId -> sahip ve indexlenen term'ler (güncelleme/silmede eski postings'i temizlemek için)
+    private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+    
+    // bootstrap sırasında event ile değişen görevler; DB'den okunan eski hali bunların üzerine yazılmaz (writeLock altında)
+    private final Set<Long> changedDuringBootstrap = new HashSet<>();
+    
+    // aynı görevin yazmaları sıralanır; okumalar kilitsiz
+    private final ReentrantLock writeLock = new ReentrantLock();
+    
+    private boolean bootstrapping;
+    private volatile boolean ready;
+    
+    public TaskSearchIndex(TaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+    }
+    
+    public boolean isReady() {
+        return ready;
+    }
+    
+    public int size() {
+        return documents.size();
+    }
+    
+    // readOnly değil: replica routing açıkken de primary'den okunur. Geride kalan replica'dan okunan eski hal,
+    // bootstrap'tan önce commit edilmiş (event'i kaçırılmış) değişikliklerin üzerine yazılırdı
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void bootstrap() {
+        long start = System.currentTimeMillis();
+        setBootstrapping(true);
+        try (Stream<TaskResponse> tasks = taskRepository.streamAllResponses()) {
+            tasks.forEach(this::indexFromBootstrap);
+        } finally {
+            setBootstrapping(false);
+        }
+        ready = true;
+        log.info("Task search index built with {} tasks and {} terms in {} ms",
+                documents.size(), postings.size(), System.currentTimeMillis() - start);
+    }
+    
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        writeLock.lock();
+        try {
+            if (bootstrapping) {
+                changedDuringBootstrap.add(event.getTaskId());
+            }
+            if (event.getType() == TaskChangedEvent.Type.DELETED) {
+                removePostings(event.getTaskId());
+            } else {
+                indexLocked(event.getTaskId(), event.getOwnerId(), event.getTitle(), event.getDescription());
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    // kontrol ve index aynı kilit altında: arada gelen event'in yeni hali (veya silmesi) eski satırla ezilmez
+    private void indexFromBootstrap(TaskResponse task) {
+        writeLock.lock();
+        try {
+            if (!changedDuringBootstrap.contains(task.getId())) {
+                indexLocked(task.getId(), task.getUser().getId(), task.getTitle(), task.getDescription());
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    private void setBootstrapping(boolean value) {
+        writeLock.lock();
+        try {
+            bootstrapping = value;
+            changedDuringBootstrap.clear();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    /**
+     * Returns ids of the best matching tasks, highest score first.
+     * @param ownerId only tasks of this user are returned; null searches all tasks
+     */
+    public List<Long> search(String query, Long ownerId, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        return ownerId != null ? searchOwner(terms, ownerId, limit) : searchAll(terms, limit);
+    }
+    
+    // sahibin segmenti küçük: eşleşen tüm görevler skorlanır
+    private List<Long> searchOwner(Set<String> terms, Long ownerId, int limit) {
+        Map<String, Map<Long, Float>> segment = ownerSegments.get(ownerId);
+        if (segment == null) {
+            return Collections.emptyList();
+        }
+        Map<Long, Double> scores = new HashMap<>();
+        for (String term : terms) {
+            Map<Long, Float> termPostings = segment.get(term);
+            if (termPostings == null) {
+                continue;
+            }
+            double idf = idf(term);
+            for (Map.Entry<Long, Float> posting : termPostings.entrySet()) {
+                scores.merge(posting.getKey(), posting.getValue() * idf, Double::sum);
+            }
+        }
+        
+        TopResults top = new TopResults(limit);
+        scores.forEach(top::offer);
+        return top.ids();
+    }
+    
+    // threshold algorithm: term listeleri ağırlık sırasıyla yan yana okunur, görülmemiş bir görevin
+    // alabileceği en yüksek skor (threshold) k. sonucun altına düşünce durulur
+    private List<Long> searchAll(Set<String> terms, int limit) {
+        List<TermCursor> cursors = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            TermPostings termPostings = postings.get(term);
+            if (termPostings != null) {
+                cursors.add(new TermCursor(termPostings, idf(term)));
+            }
+        }
+        if (cursors.isEmpty()) {
+            return Collections.emptyList();
+        }
+        
+        TopResults top = new TopResults(limit);
+        Set<Long> seen = new HashSet<>();
+        while (true) {
+            boolean advanced = false;
+            double threshold = 0;
+            for (TermCursor cursor : cursors) {
+                if (cursor.iterator.hasNext()) {
+                    Posting posting = cursor.iterator.next();
+                    cursor.lastWeight = posting.weight;
+                    advanced = true;
+                    if (seen.add(posting.taskId)) {
+                        top.offer(posting.taskId, score(posting.taskId, cursors));
+                    }
+                } else {
+                    cursor.lastWeight = 0;
+                }
+                threshold += cursor.lastWeight * cursor.idf;
+            }
+            if (!advanced || (top.isFull() && top.minScore() >= threshold)) {
+                break;
+            }
+        }
+        return top.ids();
+    }
+    
+    private double score(Long taskId, List<TermCursor> cursors) {
+        double score = 0;
+        for (TermCursor cursor : cursors) {
+            Float weight = cursor.postings.weights.get(taskId);
+            if (weight != null) {
+                score += weight * cursor.idf;
+            }
+        }
+        return score;
+    }
+    
+    private double idf(String term) {
+        TermPostings termPostings = postings.get(term);
+        int documentFrequency = termPostings != null ? Math.max(termPostings.weights.size(), 1) : 1;
+        return Math.log(1.0 + (double) Math.max(documents.size(), 1) / documentFrequency);
+    }
+    
+    // eski postings temizlenip yenileri eklenir
+    private void indexLocked(Long taskId, Long ownerId, String title, String description) {
+        removePostings(taskId);
+        
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : tokenize(title)) {
+            frequencies.merge(token, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String token : tokenize(description)) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        
+        int length = 0;
+        for (int frequency : frequencies.values()) {
+            length += frequency;
+        }
+        double norm = Math.sqrt(Math.max(length, 1));
+        
+        String[] terms = new String[frequencies.size()];
+        float[] weights = new float[frequencies.size()];
+        Map<String, Map<Long, Float>> segment = ownerSegments.computeIfAbsent(ownerId, id -> new ConcurrentHashMap<>());
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            float weight = (float) (entry.getValue() / norm);
+            terms[i] = entry.getKey();
+            weights[i] = weight;
+            i++;
+            
+            TermPostings termPostings = postings.computeIfAbsent(entry.getKey(), term -> new TermPostings());
+            termPostings.weights.put(taskId, weight);
+            termPostings.byImpact.add(new Posting(taskId, weight));
+            segment.computeIfAbsent(entry.getKey(), term -> new ConcurrentHashMap<>()).put(taskId, weight);
+        }
+        documents.put(taskId, new Document(ownerId, terms, weights));
+    }
+    
+    private void removePostings(Long taskId) {
+        Document previous = documents.remove(taskId);
+        if (previous == null) {
+            return;
+        }
+        Map<String, Map<Long, Float>> segment = ownerSegments.get(previous.ownerId);
+        for (int i = 0; i < previous.terms.length; i++) {
+            String term = previous.terms[i];
+            TermPostings termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.weights.remove(taskId);
+                termPostings.byImpact.remove(new Posting(taskId, previous.weights[i]));
+                if (termPostings.weights.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+            if (segment != null) {
+                Map<Long, Float> ownerPostings = segment.get(term);
+                if (ownerPostings != null) {
+                    ownerPostings.remove(taskId);
+                    if (ownerPostings.isEmpty()) {
+                        segment.remove(term);
+                    }
+                }
+            }
+        }
+        if (segment != null && segment.isEmpty()) {
+            ownerSegments.remove(previous.ownerId);
+        }
+    }
+    
+    // harf/rakam dışındaki her şey ayraç, küçük harfe çevrilir (Locale.ROOT: Türkçe I/i sorunu olmasın)
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (token.length() >= MIN_TOKEN_LENGTH) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+    
+    private static final class TermPostings {
+        private final Map<Long, Float> weights = new ConcurrentHashMap<>();
+        private final NavigableSet<Posting> byImpact = new ConcurrentSkipListSet<>(BY_IMPACT);
+    }
+    
+    private static final class Posting {
+        private final long taskId;
+        private final float weight;
+        
+        private Posting(long taskId, float weight) {
+            this.taskId = taskId;
+            this.weight = weight;
+        }
+    }
+    
+    private static final class TermCursor {
+        private final TermPostings postings;
+        private final double idf;
+        private final Iterator<Posting> iterator;
+        private float lastWeight;
+        
+        private TermCursor(TermPostings postings, double idf) {
+            this.postings = postings;
+            this.idf = idf;
+            this.iterator = postings.byImpact.iterator();
+        }
+    }
+    
+    private static final class Document {
+        private final Long ownerId;
+        private final String[] terms;
+        private final float[] weights;
+        
+        private Document(Long ownerId, String[] terms, float[] weights) {
+            this.ownerId = ownerId;
+            this.terms = terms;
+            this.weights = weights;
+        }
+    }
+    
+    // limit boyutunda min-heap: tüm sonuçları sıralamak gerekmez
+    private static final class TopResults {
+        private final int limit;
+        private final PriorityQueue<Map.Entry<Long, Double>> heap = new PriorityQueue<>(
+                (a, b) -> a.getValue().equals(b.getValue()) ? Long.compare(a.getKey(), b.getKey()) : Double.compare(a.getValue(), b.getValue()));
+        
+        private TopResults(int limit) {
+            this.limit = limit;
+        }
+        
+        private void offer(Long taskId, double score) {
+            heap.offer(Map.entry(taskId, score));
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        
+        private boolean isFull() {
+            return heap.size() >= limit;
+        }
+        
+        private double minScore() {
+            return heap.peek().getValue();
+        }
+        
+        private List<Long> ids() {
+            List<Long> ids = new ArrayList<>(heap.size());
+            while (!heap.isEmpty()) {
+                ids.add(heap.poll().getKey());
+            }
+            Collections.reverse(ids);
+            return ids;
+        }
+    }
+}
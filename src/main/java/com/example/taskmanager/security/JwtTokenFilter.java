@@ -1,10 +1,16 @@
 package com.example.taskmanager.security;
 
+import com.example.taskmanager.entity.Role;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,6 +20,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 
   //JWT Token Filter - Extracts token from Authorization header and sets SecurityContext
@@ -27,6 +34,25 @@ public class JwtTokenFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailsService customUserDetailsService;
     
+    @Autowired
+    private TokenRevocationRegistry tokenRevocationRegistry;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private Timer validTokenTimer;
+    private Timer invalidTokenTimer;
+    
+    // true ise principal token claimlerinden kurulur, her istekte DB'ye gidilmez
+    @Value("${jwt.claims-only-auth:true}")
+    private boolean claimsOnlyAuth;
+    
+    @PostConstruct
+    void initMetrics() {
+        this.validTokenTimer = verificationTimer("valid");
+        this.invalidTokenTimer = verificationTimer("invalid");
+    }
+    
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
@@ -34,16 +60,28 @@ public class JwtTokenFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
             
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                // Token doğrulandıysa Tokenden GET userId 
-                Long userId = tokenProvider.getUserIdFromToken(jwt);
-                
-                UserDetails userDetails = customUserDetailsService.loadUserById(userId);
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                    userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            // Token tek seferde doğrulanır ve claims alınır
+            Claims claims = null;
+            if (StringUtils.hasText(jwt)) {
+                long start = System.nanoTime();
+                claims = tokenProvider.parseAndValidate(jwt);
+                (claims != null ? validTokenTimer : invalidTokenTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            
+            if (claims != null) {
+                Long userId = claims.get("userId", Long.class);
                 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                // revoke'tan önce (veya aynı saniyede) üretilmiş token kabul edilmez
+                if (!tokenRevocationRegistry.isRevoked(userId, claims.getIssuedAt())) {
+                    UserDetails userDetails = claimsOnlyAuth
+                            ? createPrincipalFromClaims(userId, claims)
+                            : customUserDetailsService.loadUserById(userId);
+                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                        userDetails, null, userDetails.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
@@ -52,6 +90,20 @@ public class JwtTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
     
+    private Timer verificationTimer(String result) {
+        return Timer.builder("taskmanager.jwt.verification")
+                .description("JWT parse and signature verification time (cache hits included)")
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+    
+    // password tokenda yok, stateless principal için gerekmiyor
+    private UserPrincipal createPrincipalFromClaims(Long userId, Claims claims) {
+        Role role = Role.valueOf(claims.get("role", String.class));
+        return new UserPrincipal(userId, claims.getSubject(), null, role);
+    }
+    
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -60,4 +112,3 @@ public class JwtTokenFilter extends OncePerRequestFilter {
         return null;
     }
 }
-
@@ -1,12 +1,18 @@
 package com.example.taskmanager.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.time.Duration;
 import java.util.Date;
 
 /**
@@ -21,8 +27,27 @@ public class JwtTokenProvider {
     @Value("${jwt.expiration:86400000}") // 24 hours in milliseconds
     private long jwtExpiration;
     
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    @Value("${jwt.cache.max-size:10000}")
+    private int cacheMaxSize;
+    
+    // key ve parser bir kez oluşturulur, her istekte yeniden kurulmaz
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+    
+    // doğrulanmış token -> claims; her kayıt token'ın exp zamanında düşer, boyut sınırında nadir kullanılan atılır (tarama yok)
+    private Cache<String, Claims> verifiedTokens;
+    
+    @PostConstruct
+    void init() {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(Expiry.creating((String token, Claims claims) ->
+                        Duration.ofMillis(claims.getExpiration().getTime() - System.currentTimeMillis())))
+                .build();
     }
     
     public String generateToken(UserPrincipal userPrincipal) {
@@ -35,40 +60,48 @@ public class JwtTokenProvider {
                 .claim("role", userPrincipal.getRole().name())
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
     
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    /**
+     * Verifies the token once and returns its claims.
+     * Verified tokens are cached until their expiration, so repeated requests
+     * with the same token skip the HMAC check.
+     * @return claims of a valid token, or null if the token is invalid or expired
+     */
+    public Claims parseAndValidate(String token) {
+        Claims cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            return cached;
+        }
+        
+        Claims claims;
+        try {
+            claims = jwtParser.parseSignedClaims(token).getPayload();
+        } catch (Exception e) {
+            return null;
+        }
         
-        return claims.getSubject();
+        // exp'siz token cache'lenmez (düşeceği zaman yok)
+        if (claims.getExpiration() != null) {
+            verifiedTokens.put(token, claims);
+        }
+        return claims;
+    }
+    
+    public String getUsernameFromToken(String token) {
+        Claims claims = parseAndValidate(token);
+        return claims != null ? claims.getSubject() : null;
     }
     
     public Long getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        
-        return claims.get("userId", Long.class);
+        Claims claims = parseAndValidate(token);
+        return claims != null ? claims.get("userId", Long.class) : null;
     }
     
     public boolean validateToken(String token) {
-        try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+        return parseAndValidate(token) != null;
     }
 }
 
@@ -0,0 +1,77 @@
+package com.example.taskmanager.security;
+
+import com.example.taskmanager.exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Per-username and per-IP token buckets for the login endpoint.
+ * Buckets live in size-bounded caches. An idle bucket expires once it would
+ * have refilled completely, so expiry never loosens the limit; the size bound
+ * caps memory when usernames are sprayed.
+ */
+@Component
+public class LoginRateLimiter {
+    
+    private final Cache<String, TokenBucket> usernameBuckets;
+    private final Cache<String, TokenBucket> ipBuckets;
+    
+    private final long usernameCapacity;
+    private final long usernameRefillPerMinute;
+    private final long ipCapacity;
+    private final long ipRefillPerMinute;
+    
+    private final Counter usernameRejections;
+    private final Counter ipRejections;
+    
+    public LoginRateLimiter(@Value("${login.rate-limit.username.capacity:5}") long usernameCapacity,
+                            @Value("${login.rate-limit.username.refill-per-minute:5}") long usernameRefillPerMinute,
+                            @Value("${login.rate-limit.ip.capacity:20}") long ipCapacity,
+                            @Value("${login.rate-limit.ip.refill-per-minute:20}") long ipRefillPerMinute,
+                            @Value("${login.rate-limit.max-tracked-keys:10000}") int maxTrackedKeys,
+                            MeterRegistry meterRegistry) {
+        this.usernameCapacity = usernameCapacity;
+        this.usernameRefillPerMinute = usernameRefillPerMinute;
+        this.ipCapacity = ipCapacity;
+        this.ipRefillPerMinute = ipRefillPerMinute;
+        this.usernameBuckets = buckets(maxTrackedKeys, usernameCapacity, usernameRefillPerMinute);
+        this.ipBuckets = buckets(maxTrackedKeys, ipCapacity, ipRefillPerMinute);
+        this.usernameRejections = Counter.builder("taskmanager.login.rejected").tag("reason", "username").register(meterRegistry);
+        this.ipRejections = Counter.builder("taskmanager.login.rejected").tag("reason", "ip").register(meterRegistry);
+    }
+    
+    // limit aşıldıysa BCrypt'e hiç gidilmeden 429 döner
+    public void checkAllowed(String username, String clientIp) {
+        long now = System.nanoTime();
+        
+        if (clientIp != null && !acquire(ipBuckets, clientIp, ipCapacity, ipRefillPerMinute, now)) {
+            ipRejections.increment();
+            throw new TooManyRequestsException("Too many login attempts, try again later");
+        }
+        if (!acquire(usernameBuckets, username.toLowerCase(Locale.ROOT), usernameCapacity, usernameRefillPerMinute, now)) {
+            usernameRejections.increment();
+            throw new TooManyRequestsException("Too many login attempts, try again later");
+        }
+    }
+    
+    // rastgele username denemeleri cache'i büyütmez: boyut sınırında nadir kullanılan bucket atılır, tarama yok
+    private static Cache<String, TokenBucket> buckets(int maxTrackedKeys, long capacity, long refillPerMinute) {
+        long refillMillis = (long) Math.ceil(capacity * 60_000d / refillPerMinute);
+        return Caffeine.newBuilder()
+                .maximumSize(maxTrackedKeys)
+                .expireAfterAccess(Duration.ofMillis(refillMillis))
+                .build();
+    }
+    
+    private boolean acquire(Cache<String, TokenBucket> buckets, String key, long capacity, long refillPerMinute, long now) {
+        TokenBucket bucket = buckets.get(key, k -> new TokenBucket(capacity, refillPerMinute, now));
+        return bucket.tryConsume(now);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.taskmanager.security;
+
+import com.example.taskmanager.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Dedicated bounded pool for BCrypt password verification, so a login burst
+ * cannot occupy the Tomcat worker threads serving the task API.
+ */
+@Component
+public class LoginVerificationExecutor {
+    
+    private final ThreadPoolExecutor executor;
+    private final Timer queueWaitTimer;
+    private final Timer verificationTimer;
+    private final Counter queueRejections;
+    
+    public LoginVerificationExecutor(@Value("${login.executor.threads:0}") int threads,
+                                     @Value("${login.executor.queue-capacity:100}") int queueCapacity,
+                                     MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "login-verify-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        
+        Gauge.builder("taskmanager.login.queue.depth", executor, e -> e.getQueue().size())
+                .description("Login verifications waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("taskmanager.login.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("taskmanager.login.queue.wait")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.verificationTimer = Timer.builder("taskmanager.login.verification")
+                .description("Login verification latency including queue wait")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.queueRejections = Counter.builder("taskmanager.login.rejected").tag("reason", "queue").register(meterRegistry);
+    }
+    
+    public <T> CompletableFuture<T> submit(Supplier<T> verification) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        long submittedAt = System.nanoTime();
+        
+        try {
+            executor.execute(() -> {
+                long startedAt = System.nanoTime();
+                queueWaitTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    future.complete(verification.get());
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    verificationTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // kuyruk dolu: beklemek yerine hemen reddedilir
+            queueRejections.increment();
+            throw new TooManyRequestsException("Login service is busy, try again later");
+        }
+        return future;
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.taskmanager.security;
 
+import com.example.taskmanager.entity.Role;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
@@ -14,6 +15,16 @@ public class SecurityUtils {
      * @throws IllegalStateException if user is not authenticated
      */
     public static Long getCurrentUserId() {
+        return getCurrentUser().getId();
+    }
+    
+    /**
+     * Get current authenticated user (id, username, role) from SecurityContext
+     * without a repository call
+     * @return Current user principal
+     * @throws IllegalStateException if user is not authenticated
+     */
+    public static UserPrincipal getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         
         if (authentication == null || !authentication.isAuthenticated() || 
@@ -21,8 +32,22 @@ public class SecurityUtils {
             throw new IllegalStateException("User is not authenticated");
         }
         
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        return userPrincipal.getId();
+        return (UserPrincipal) authentication.getPrincipal();
+    }
+    
+    /**
+     * Current user ID, or null when the request is not authenticated
+     */
+    public static Long findCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getId();
+        }
+        return null;
+    }
+    
+    public static boolean isAdmin(UserPrincipal user) {
+        return Role.ADMIN.equals(user.getRole());
     }
 }
 
@@ -0,0 +1,47 @@
+package com.example.taskmanager.security;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Simple token bucket: capacity tokens, refilled continuously at refillPerMinute.
+ */
+public class TokenBucket {
+    
+    private final long capacity;
+    private final double refillPerNano;
+    private double tokens;
+    private long lastRefillNanos;
+    
+    // synchronized yerine: virtual thread'ler beklerken carrier thread'i bloklamaz
+    private final ReentrantLock lock = new ReentrantLock();
+    
+    public TokenBucket(long capacity, long refillPerMinute, long nowNanos) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerMinute / 60_000_000_000d;
+        this.tokens = capacity;
+        this.lastRefillNanos = nowNanos;
+    }
+    
+    // kısa, bloklamayan kritik bölge
+    public boolean tryConsume(long nowNanos) {
+        lock.lock();
+        try {
+            refill(nowNanos);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void refill(long nowNanos) {
+        long elapsed = nowNanos - lastRefillNanos;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed * refillPerNano);
+            lastRefillNanos = nowNanos;
+        }
+    }
+}
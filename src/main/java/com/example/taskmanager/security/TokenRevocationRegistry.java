@@ -0,0 +1,39 @@
+package com.example.taskmanager.security;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user "revoked before" table used to revoke issued JWTs.
+ * Revoking a user rejects every token of that user issued at or before the
+ * revocation (compared against the iat claim), without a database lookup per
+ * request. Called by UserChangeListener when a user row is updated or deleted.
+ * <p>
+ * The table is in memory: a restart forgets revocations, so tokens revoked
+ * before it are accepted again until they expire. Tokens issued after a
+ * revocation are never affected by it.
+ */
+@Component
+public class TokenRevocationRegistry {
+    
+    // userId -> bu saniye ve öncesinde üretilmiş tokenlar geçersiz (epoch saniye)
+    // hiç revoke edilmemiş kullanıcılar tabloda yer almaz
+    private final Map<Long, Long> revokedBefore = new ConcurrentHashMap<>();
+    
+    // iat saniye hassasiyetinde: revoke ile aynı saniyede üretilen token da reddedilir, client tekrar login olur
+    public boolean isRevoked(Long userId, Date issuedAt) {
+        Long revokedAt = revokedBefore.get(userId);
+        if (revokedAt == null) {
+            return false;
+        }
+        return issuedAt == null || issuedAt.getTime() / 1000 <= revokedAt;
+    }
+    
+    // kullanıcının şu ana kadar üretilmiş tüm tokenlarını geçersiz kılar
+    public void revokeTokens(Long userId) {
+        revokedBefore.merge(userId, System.currentTimeMillis() / 1000, Math::max);
+    }
+}
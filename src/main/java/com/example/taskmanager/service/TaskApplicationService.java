@@ -1,16 +1,50 @@
 package com.example.taskmanager.service;
 
 import com.example.taskmanager.command.*;
+import com.example.taskmanager.dto.TaskChangesResponse;
 import com.example.taskmanager.dto.TaskResponse;
-import org.springframework.data.domain.Page;
+import com.example.taskmanager.dto.TaskSliceResponse;
+import com.example.taskmanager.dto.TaskStatsResponse;
+import com.example.taskmanager.dto.TaskSummaryResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.data.domain.Slice;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Consumer;
 
 
  //role-based access control (admin: tümü, user: sadece kendi)
  
 public interface TaskApplicationService {
     
-    // görevleri pagination ile getirir (admin: tümü user sadece kendi)
-    Page<TaskResponse> getAllTasks(GetAllTasksQuery query);
+    // görevleri pagination ile getirir (admin: tümü user sadece kendi); includeTotals ise toplamlı Page, değilse Slice
+    Slice<TaskResponse> getAllTasks(GetAllTasksQuery query);
+    
+    // getAllTasks ile aynı kapsam/sayfalama, sadece query.fields'ta seçilen kolonlar okunur ve serialize edilir
+    Slice<TaskSummaryResponse> getTaskSummaries(GetAllTasksQuery query);
+    
+    // listeleme için weak ETag: kapsamın (admin: global, user: kendi) change stamp'i + sorgu parametreleri, DB'ye gidilmez
+    String getTasksETag(GetAllTasksQuery query);
+    
+    // görevleri cursor (keyset) ile getirir, COUNT sorgusu yok (admin: tümü user sadece kendi)
+    TaskSliceResponse getTasksAfter(GetAllTasksQuery query);
+    
+    // tüm görevleri satır satır sink'e akıtır, sayfalama ve COUNT yok (admin: tümü user sadece kendi)
+    void exportTasks(GetAllTasksQuery query, Consumer<TaskResponse> sink);
+    
+    // since watermark'ından sonraki ekleme/güncelleme/silmeler, change sequence sırasıyla (admin: tümü user sadece kendi)
+    TaskChangesResponse getTaskChanges(Long since, Integer limit);
+    
+    // commit edilen ekleme/güncelleme/silmeleri SSE ile iter, önce watermark'lı ready event'i (admin: tümü user sadece kendi)
+    void streamTaskChanges(HttpServletRequest request, HttpServletResponse response) throws IOException;
+    
+    // başlık/açıklamada tam metin arama, skora göre sıralı (admin: tümü user sadece kendi)
+    List<TaskResponse> searchTasks(String query, Integer limit);
+    
+    // status bazında görev sayıları, sayaçlardan O(1) okunur (admin: tümü veya verilen kullanıcı, user sadece kendi)
+    TaskStatsResponse getTaskStats(Long userId);
     
     // yeni görev oluşturur (admin: herhangi bir kullanıcıya user sadece kendine)
     TaskResponse createTask(CreateTaskCommand command);
@@ -20,5 +54,14 @@ public interface TaskApplicationService {
     
     // görev siler (admin: herkesin user sadece kendi)
     void deleteTask(DeleteTaskCommand command);
+    
+    // toplu oluşturma: tüm set tek seferde yetkilendirilir, insert'ler JDBC batch ile yazılır
+    List<TaskResponse> createTasks(BulkCreateTasksCommand command);
+    
+    // toplu güncelleme: görevler tek SELECT ile gelir, update'ler JDBC batch ile yazılır
+    List<TaskResponse> updateTasks(BulkUpdateTasksCommand command);
+    
+    // toplu silme: tek SELECT ile yetki kontrolü, tek DELETE ... WHERE id IN (...)
+    void deleteTasks(BulkDeleteTasksCommand command);
 }
 
@@ -5,6 +5,7 @@ import com.example.taskmanager.dto.LoginResponse;
 import com.example.taskmanager.dto.UserResponse;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 
  //login, kullanıcı listesi ve test kullanıcı oluşturma başlangıçta
@@ -12,11 +13,18 @@ import java.util.List;
 public interface UserApplicationService {
     
     // kullanıcı girişi yapar, jwt token döner
-    LoginResponse login(LoginCommand command);
+    // BCrypt doğrulaması ayrı bir executor'da çalışır, servlet thread'i beklemez
+    CompletableFuture<LoginResponse> login(LoginCommand command);
     
-    // tüm kullanıcıları getirir (admin paneli için)
+    // tüm kullanıcıları getirir (admin paneli için), cache'ten döner
     List<UserResponse> getAllUsers();
     
+    // username prefix'i ve opsiyonel sayfalama ile kullanıcıları getirir (cache üzerinden)
+    List<UserResponse> searchUsers(String prefix, Integer page, Integer size);
+    
+    // kullanıcı listesi için weak ETag, her kullanıcı değişikliğinde değişir
+    String getUsersETag();
+    
     // test kullanıcıları oluşturur (development için)
     void testUserCreate();
 }
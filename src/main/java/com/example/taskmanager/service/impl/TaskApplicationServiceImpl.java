@@ -1,134 +1,445 @@
 package com.example.taskmanager.service.impl;
 
+import com.example.taskmanager.cache.SingleFlight;
+import com.example.taskmanager.cache.TaskChangeStamps;
+import com.example.taskmanager.cache.TaskStatusCounters;
 import com.example.taskmanager.command.*;
+import com.example.taskmanager.datasource.ReadYourWritesTracker;
+import com.example.taskmanager.dto.TaskChange;
+import com.example.taskmanager.dto.TaskChangesResponse;
+import com.example.taskmanager.dto.TaskCursor;
+import com.example.taskmanager.dto.TaskField;
 import com.example.taskmanager.dto.TaskResponse;
-import com.example.taskmanager.entity.Role;
+import com.example.taskmanager.dto.TaskSliceResponse;
+import com.example.taskmanager.dto.TaskStatsResponse;
+import com.example.taskmanager.dto.TaskSummaryResponse;
 import com.example.taskmanager.entity.Task;
 import com.example.taskmanager.entity.TaskStatus;
 import com.example.taskmanager.entity.User;
+import com.example.taskmanager.event.TaskChangedEvent;
 import com.example.taskmanager.exception.ResourceNotFoundException;
+import com.example.taskmanager.exception.ServiceUnavailableException;
 import com.example.taskmanager.exception.UnauthorizedException;
+import com.example.taskmanager.exception.ValidationException;
 import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.repository.TaskTombstonePurgeRepository;
+import com.example.taskmanager.repository.TaskTombstoneRepository;
 import com.example.taskmanager.repository.UserRepository;
+import com.example.taskmanager.search.TaskSearchIndex;
 import com.example.taskmanager.security.SecurityUtils;
+import com.example.taskmanager.security.UserPrincipal;
 import com.example.taskmanager.service.TaskApplicationService;
-import org.springframework.data.domain.Page;
+import com.example.taskmanager.sync.TaskChangeSequence;
+import com.example.taskmanager.sync.TaskStreamHub;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+// her public metod için taskmanager.service timer'ı (class/method tag'leriyle)
 @Service
+@Timed(value = "taskmanager.service", histogram = true)
 public class TaskApplicationServiceImpl implements TaskApplicationService {
     
+    private static final int PAGE_SIZE = 10;
+    private static final int MAX_SEARCH_RESULTS = 100;
+    private static final int DEFAULT_CHANGES_LIMIT = 100;
+    private static final int MAX_CHANGES_LIMIT = 1000;
+    
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
+    private final TaskStatusCounters taskStatusCounters;
+    private final TaskSearchIndex taskSearchIndex;
+    private final TaskChangeStamps taskChangeStamps;
+    private final TaskChangeSequence taskChangeSequence;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final TaskTombstonePurgeRepository taskTombstonePurgeRepository;
+    private final TaskStreamHub taskStreamHub;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate readOnlyTransaction;
+    
+    // replica routing kapalıyken null
+    private final ReadYourWritesTracker readYourWritesTracker;
+    
+    // aynı anda gelen aynı listeleme istekleri (kapsam + sorgu) tek sorguyu paylaşır
+    private final SingleFlight<String, Slice<?>> listingFlights;
     
-    public TaskApplicationServiceImpl(TaskRepository taskRepository, UserRepository userRepository) {
+    public TaskApplicationServiceImpl(TaskRepository taskRepository, UserRepository userRepository,
+                                      TaskStatusCounters taskStatusCounters, TaskSearchIndex taskSearchIndex,
+                                      TaskChangeStamps taskChangeStamps, TaskChangeSequence taskChangeSequence,
+                                      TaskTombstoneRepository taskTombstoneRepository,
+                                      TaskTombstonePurgeRepository taskTombstonePurgeRepository, TaskStreamHub taskStreamHub,
+                                      ApplicationEventPublisher eventPublisher,
+                                      ObjectProvider<ReadYourWritesTracker> readYourWritesTracker,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${task.listing.coalesce-timeout-ms:10000}") long coalesceTimeoutMs,
+                                      MeterRegistry meterRegistry) {
         this.taskRepository = taskRepository;
         this.userRepository = userRepository;
+        this.taskStatusCounters = taskStatusCounters;
+        this.taskSearchIndex = taskSearchIndex;
+        this.taskChangeStamps = taskChangeStamps;
+        this.taskChangeSequence = taskChangeSequence;
+        this.taskTombstoneRepository = taskTombstoneRepository;
+        this.taskTombstonePurgeRepository = taskTombstonePurgeRepository;
+        this.taskStreamHub = taskStreamHub;
+        this.eventPublisher = eventPublisher;
+        this.readYourWritesTracker = readYourWritesTracker.getIfAvailable();
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.listingFlights = new SingleFlight<>("taskmanager.tasks.listing.coalesce", coalesceTimeoutMs, meterRegistry);
     }
     
     @Override
-    @Transactional(readOnly = true)
-    public Page<TaskResponse> getAllTasks(GetAllTasksQuery query) {
-        Long currentUserId = SecurityUtils.getCurrentUserId();
-        
-        User currentUser = userRepository.findById(currentUserId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    public Slice<TaskResponse> getAllTasks(GetAllTasksQuery query) {
+        return listTasks(query, "full", this::findResponses);
+    }
+    
+    @Override
+    public Slice<TaskSummaryResponse> getTaskSummaries(GetAllTasksQuery query) {
+        // seçilmeyen kolonlar SELECT'e girmez, user seçilmediyse users JOIN'i de atılmaz
+        Set<TaskField> fields = TaskField.parse(query.getFields());
+        return listTasks(query, TaskField.format(fields),
+                (ownerId, status, pageable) -> taskRepository.findSummaries(ownerId, status, fields, pageable));
+    }
+    
+    // listeleme ortak akışı: kapsam, sayfalama, sıralama, toplamlar ve eşzamanlı isteklerin birleştirilmesi.
+    // view aynı sorgunun farklı projection'larını (tam/sparse) single-flight anahtarında ayırır
+    @SuppressWarnings("unchecked")
+    private <T> Slice<T> listTasks(GetAllTasksQuery query, String view, SliceLoader<T> loader) {
+        // rol bilgisi SecurityContext'teki principal'dan okunur, DB'ye gidilmez
+        UserPrincipal currentUser = SecurityUtils.getCurrentUser();
+        Long currentUserId = currentUser.getId();
         
         // Pagination parametrelerini al (default değerler)
         int page = query.getPage() != null && query.getPage() >= 0 ? query.getPage() : 0;
-        int size = 10; // Sabit: Her zaman 10 görev gösterilir 
+        int size = PAGE_SIZE; // Sabit: Her zaman 10 görev gösterilir 
         
-        // gelen sort parametresini al (parse et)
-        Sort sort = parseSort(query.getSort());
-        Pageable pageable = PageRequest.of(page, size, sort);
+        // gelen sort parametresini whitelist'ten çöz
+        TaskSort taskSort = TaskSort.parse(query.getSort());
+        Pageable pageable = PageRequest.of(page, size, taskSort.getSort());
         
         TaskStatus status = query.getStatus();
-        Page<Task> taskPage;
+        boolean includeTotals = query.isIncludeTotals();
+        
+        // filtreleme işlemi status a gore admin user kontroluyle (admin: sahip filtresi yok)
+        boolean isAdmin = SecurityUtils.isAdmin(currentUser);
+        Long ownerId = isAdmin ? null : currentUserId;
         
-        // filtreleme işlemi status a gore admin user kontroluyle
-        boolean isAdmin = Role.ADMIN.equals(currentUser.getRole());
+        // aynı kapsam (admin: global, user: kendi) ve aynı sorgu için eşzamanlı istekler tek DB çağrısını paylaşır.
+        // Kapsamın change stamp'i anahtarda: kendi yazmasından sonra gelen istek, yazmadan önce başlamış sorguya bağlanmaz.
+        // Okunacak kaynak da anahtarda: read-your-writes ile primary'ye gitmesi gereken istek replica sorgusuna bağlanmaz
+        long stamp = isAdmin ? taskChangeStamps.getGlobalStamp() : taskChangeStamps.getUserStamp(currentUserId);
+        boolean primary = readYourWritesTracker != null && readYourWritesTracker.mustReadPrimary();
+        String key = (isAdmin ? "all" : "u" + currentUserId) + "|" + stamp + "|" + (primary ? "primary" : "replica") + "|"
+                + status + "|" + page + "|" + taskSort + "|" + includeTotals + "|" + view;
+        
+        // transaction (ve bağlantı) sadece sorguyu çalıştıran istekte açılır, bekleyenler bağlantı tutmaz
+        return (Slice<T>) listingFlights.execute(key, () -> readOnlyTransaction.execute(tx ->
+                withTotals(loader.load(ownerId, status, pageable), ownerId, status, pageable, includeTotals)));
+    }
+    
+    private Slice<TaskResponse> findResponses(Long ownerId, TaskStatus status, Pageable pageable) {
+        Slice<TaskResponse> taskSlice;
         
         if (status != null) {
-            if (isAdmin) {
+            if (ownerId == null) {
                 // Admin: Tüm status filtrelenmiş görevler
-                taskPage = taskRepository.findByStatus(status, pageable);
+                taskSlice = taskRepository.findResponsesByStatus(status, pageable);
             } else {
                 // User: Sadece kendi status filtrelenmiş görevleri
-                taskPage = taskRepository.findByUserIdAndStatus(currentUserId, status, pageable);
+                taskSlice = taskRepository.findResponsesByUserIdAndStatus(ownerId, status, pageable);
             }
         } else {
             // Status filtresi yoksa
-            if (isAdmin) {
+            if (ownerId == null) {
                 // Admin: Tüm görevler
-                taskPage = taskRepository.findAll(pageable);
+                taskSlice = taskRepository.findAllResponses(pageable);
             } else {
                 // User: Sadece kendi görevleri
-                taskPage = taskRepository.findByUserId(currentUserId, pageable);
+                taskSlice = taskRepository.findResponsesByUserId(ownerId, pageable);
             }
         }
         
-        // Entity'den DTO'ya dönüşüm (Page mapping)
+        // Repository doğrudan TaskResponse döner, entity -> DTO mapping gerekmez
+        return taskSlice;
+    }
+    
+    private <T> Slice<T> withTotals(Slice<T> taskSlice, Long ownerId, TaskStatus status, Pageable pageable,
+                                    boolean includeTotals) {
+        if (!includeTotals) {
+            return taskSlice;
+        }
         
-        return taskPage.map(task -> new TaskResponse(
-            task.getId(),
-            task.getTitle(),
-            task.getDescription(),
-            task.getStatus(),
-            task.getCreatedDate(),
-            task.getUser().getId(),
-            task.getUser().getUsername()
-        ));
+        // toplam COUNT(*) yerine commit sonrası güncellenen status sayaçlarından okunur
+        if (!taskStatusCounters.isInitialized()) {
+            taskStatusCounters.reconcile();
+        }
+        long total = taskStatusCounters.count(ownerId, status);
+        // sayaç commit'ten hemen sonra güncellenir; arada okunan sayfadan küçük kalmasın
+        long seen = pageable.getOffset() + taskSlice.getNumberOfElements() + (taskSlice.hasNext() ? 1 : 0);
+        return new PageImpl<>(taskSlice.getContent(), pageable, Math.max(total, seen));
+    }
+    
+    
+    @Override
+    public String getTasksETag(GetAllTasksQuery query) {
+        UserPrincipal currentUser = SecurityUtils.getCurrentUser();
+        
+        // stamp sorgudan önce okunur: arada commit olursa yanıt eski stamp'le gider, sonraki poll 200 alır
+        String scope;
+        long stamp;
+        if (SecurityUtils.isAdmin(currentUser)) {
+            scope = "all";
+            stamp = taskChangeStamps.getGlobalStamp();
+        } else {
+            scope = "u" + currentUser.getId();
+            stamp = taskChangeStamps.getUserStamp(currentUser.getId());
+        }
+        
+        // aynı sonucu veren parametreler aynı ETag'i üretsin diye normalize edilir
+        int page = query.getPage() != null && query.getPage() >= 0 ? query.getPage() : 0;
+        String params = query.getStatus() + "|" + page + "|" + TaskSort.parse(query.getSort()) + "|"
+                + (query.getAfter() != null ? query.getAfter().trim() : "") + "|" + query.isIncludeTotals() + "|"
+                + (query.getFields() != null ? TaskField.format(TaskField.parse(query.getFields())) : "full");
+        
+        return "W/\"tasks-" + taskChangeStamps.getEpoch() + "-" + scope + "-" + stamp + "-"
+                + Integer.toHexString(params.hashCode()) + "\"";
+    }
+    
+    
+    @Override
+    @Transactional(readOnly = true)
+    public TaskSliceResponse getTasksAfter(GetAllTasksQuery query) {
+        UserPrincipal currentUser = SecurityUtils.getCurrentUser();
+        
+        // keyset modunda sıralama sabit: createdDate DESC, id DESC
+        if (TaskSort.parse(query.getSort()) != TaskSort.CREATED_DATE_DESC) {
+            throw new ValidationException("Cursor pagination only supports sort=createdDate,desc");
+        }
+        
+        // boş cursor ilk sayfa demek
+        String after = query.getAfter();
+        TaskCursor cursor = after != null && !after.trim().isEmpty() ? TaskCursor.decode(after.trim()) : null;
+        
+        // admin: userId filtresi yok, user: sadece kendi görevleri
+        Long userId = SecurityUtils.isAdmin(currentUser) ? null : currentUser.getId();
+        Slice<TaskResponse> taskSlice = taskRepository.findSliceAfter(userId, query.getStatus(), cursor, PAGE_SIZE);
+        List<TaskResponse> content = taskSlice.getContent();
+        
+        String nextCursor = null;
+        if (taskSlice.hasNext()) {
+            TaskResponse last = content.get(content.size() - 1);
+            nextCursor = new TaskCursor(last.getCreatedDate(), last.getId()).encode();
+        }
+        
+        return new TaskSliceResponse(content, nextCursor, taskSlice.hasNext());
     }
     
     
-    // String formatındaki sort bilgisini Spring Sort objesine çevirir
-    // paremetre yoksa default date e gore descending yap
-    private Sort parseSort(String sortString) {
-        if (sortString == null || sortString.trim().isEmpty()) {
-            return Sort.by(Sort.Direction.DESC, "createdDate");
+    @Override
+    @Transactional(readOnly = true)
+    public void exportTasks(GetAllTasksQuery query, Consumer<TaskResponse> sink) {
+        UserPrincipal currentUser = SecurityUtils.getCurrentUser();
+        Long currentUserId = currentUser.getId();
+        TaskStatus status = query.getStatus();
+        boolean isAdmin = SecurityUtils.isAdmin(currentUser);
+        
+        // getAllTasks ile aynı rol/status kuralları; stream transaction boyunca açık kalır, sonunda kapatılır
+        Stream<TaskResponse> rows;
+        if (status != null) {
+            rows = isAdmin
+                    ? taskRepository.streamResponsesByStatus(status)
+                    : taskRepository.streamResponsesByUserIdAndStatus(currentUserId, status);
+        } else {
+            rows = isAdmin
+                    ? taskRepository.streamAllResponses()
+                    : taskRepository.streamResponsesByUserId(currentUserId);
         }
         
-        String[] parts = sortString.split(",");
-        if (parts.length != 2) {
-            return Sort.by(Sort.Direction.DESC, "createdDate");
+        try (rows) {
+            rows.forEach(sink);
         }
+    }
+    
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskResponse> searchTasks(String query, Integer limit) {
+        UserPrincipal currentUser = SecurityUtils.getCurrentUser();
         
-        String field = parts[0].trim();
-        String direction = parts[1].trim().toLowerCase();
+        if (query == null || query.trim().isEmpty()) {
+            throw new ValidationException("Search query is required");
+        }
+        if (!taskSearchIndex.isReady()) {
+            throw new ServiceUnavailableException("Search index is still being built");
+        }
+        int size = limit != null && limit > 0 ? Math.min(limit, MAX_SEARCH_RESULTS) : PAGE_SIZE;
         
-        Sort.Direction sortDirection = "asc".equals(direction) 
-            ? Sort.Direction.ASC 
-            : Sort.Direction.DESC;
+        // admin: tüm görevler, user: sadece kendi görevleri (index sahibe göre filtreler)
+        boolean isAdmin = SecurityUtils.isAdmin(currentUser);
+        Long ownerId = isAdmin ? null : currentUser.getId();
+        List<Long> ids = taskSearchIndex.search(query, ownerId, size);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
         
-        return Sort.by(sortDirection, field);
+        // satırlar tek sorguda gelir, index sırası korunur; sahiplik DB'deki güncel değere göre tekrar kontrol edilir
+        Map<Long, TaskResponse> rows = new HashMap<>();
+        for (TaskResponse row : taskRepository.findResponsesByIdIn(ids)) {
+            if (isAdmin || ownerId.equals(row.getUser().getId())) {
+                rows.put(row.getId(), row);
+            }
+        }
+        List<TaskResponse> results = new ArrayList<>(rows.size());
+        for (Long id : ids) {
+            TaskResponse row = rows.get(id);
+            if (row != null) {
+                results.add(row);
+            }
+        }
+        return results;
     }
     
+    
+    // readOnly değil: replica routing açıkken bile primary'den okunur. Watermark bu node'un commit durumundan
+    // hesaplanır, geride kalan bir replica watermark'ın altındaki değişikliği henüz göstermeyebilir
+    @Override
+    @Transactional
+    public TaskChangesResponse getTaskChanges(Long since, Integer limit) {
+        UserPrincipal currentUser = SecurityUtils.getCurrentUser();
+        
+        if (since == null || since < 0) {
+            throw new ValidationException("since must be a non-negative change sequence");
+        }
+        int size = limit != null && limit > 0 ? Math.min(limit, MAX_CHANGES_LIMIT) : DEFAULT_CHANGES_LIMIT;
+        
+        // açık transaction'ların sequence'leri hariç: sonradan commit edilecek bir değişiklik watermark'ın altında kalmaz
+        long until = taskChangeSequence.safeWatermark();
+        if (since >= until) {
+            return new TaskChangesResponse(List.of(), since, false);
+        }
+        
+        // admin: tüm görevler ve silinenler, user: kendi görevleri + kapsamından çıkanlar (silinen / başkasına geçen)
+        Limit fetch = Limit.of(size + 1);
+        List<TaskChange> upserts;
+        List<TaskChange> deletions;
+        if (SecurityUtils.isAdmin(currentUser)) {
+            upserts = taskRepository.findChangesAfter(since, until, fetch);
+            deletions = taskTombstoneRepository.findDeletionsAfter(since, until, fetch);
+        } else {
+            upserts = taskRepository.findChangesByUserIdAfter(currentUser.getId(), since, until, fetch);
+            deletions = taskTombstoneRepository.findDeletionsByOwnerIdAfter(currentUser.getId(), since, until, fetch);
+        }
+        
+        // ufuk sorgulardan sonra okunur: arada commit edilen purge silinen tombstone'larla birlikte görülür.
+        // since ufkun altındaysa (since, ufuk] aralığındaki silmeler kaybolmuş olabilir, client baştan yükler
+        if (since < taskTombstonePurgeRepository.findHorizon()) {
+            return TaskChangesResponse.resync(until);
+        }
+        
+        // iki liste de change_seq sıralı; birleştirilir, client sırayla uygular
+        List<TaskChange> changes = new ArrayList<>(Math.min(upserts.size() + deletions.size(), size + 1));
+        int u = 0;
+        int d = 0;
+        while (changes.size() <= size && (u < upserts.size() || d < deletions.size())) {
+            if (d == deletions.size() || (u < upserts.size() && upserts.get(u).getSeq() < deletions.get(d).getSeq())) {
+                changes.add(upserts.get(u++));
+            } else {
+                changes.add(deletions.get(d++));
+            }
+        }
+        
+        boolean hasMore = changes.size() > size;
+        if (hasMore) {
+            changes = changes.subList(0, size);
+            return new TaskChangesResponse(new ArrayList<>(changes), changes.get(size - 1).getSeq(), true);
+        }
+        return new TaskChangesResponse(changes, until, false);
+    }
+    
+    // abonelik sadece kapsamı (sahip/admin) kaydeder; bağlantı açık kaldıkça transaction veya DB bağlantısı tutulmaz
+    @Override
+    public void streamTaskChanges(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        UserPrincipal currentUser = SecurityUtils.getCurrentUser();
+        taskStreamHub.subscribe(currentUser.getId(), SecurityUtils.isAdmin(currentUser), request, response);
+    }
+    
+    
+    @Override
+    public TaskStatsResponse getTaskStats(Long userId) {
+        UserPrincipal currentUser = SecurityUtils.getCurrentUser();
+        Long currentUserId = currentUser.getId();
+        
+        // sayaçlar henüz yüklenmediyse (startup) bir kez GROUP BY ile doldurulur
+        if (!taskStatusCounters.isInitialized()) {
+            taskStatusCounters.reconcile();
+        }
+        
+        if (!SecurityUtils.isAdmin(currentUser)) {
+            if (userId != null && !userId.equals(currentUserId)) {
+                throw new UnauthorizedException("You can only view your own task stats");
+            }
+            return new TaskStatsResponse(currentUserId, taskStatusCounters.getUserCounts(currentUserId));
+        }
+        
+        if (userId == null) {
+            return new TaskStatsResponse(null, taskStatusCounters.getGlobalCounts());
+        }
+        return new TaskStatsResponse(userId, taskStatusCounters.getUserCounts(userId));
+    }
+    
+    
     @Override
     @Transactional
     public TaskResponse createTask(CreateTaskCommand command) {
-        Long currentUserId = SecurityUtils.getCurrentUserId();
+        UserPrincipal currentUser = SecurityUtils.getCurrentUser();
+        Long currentUserId = currentUser.getId();
         
         // Title validation controller da Bean Validation ile yapılır
         String title = command.getTitle();
         Long targetUserId = command.getTargetUserId() != null ? command.getTargetUserId() : currentUserId;
         
-        User currentUser = userRepository.findById(currentUserId)
-                .orElseThrow(() -> new ResourceNotFoundException("Current user not found"));
-        
         // Authorization - admin kontrolu yapılır
-        boolean isAdmin = Role.ADMIN.equals(currentUser.getRole());
+        boolean isAdmin = SecurityUtils.isAdmin(currentUser);
         if (!isAdmin && !currentUserId.equals(targetUserId)) {
             throw new UnauthorizedException("You can only create tasks for yourself");
         }
         
-        User targetUser = userRepository.findById(targetUserId)
-                .orElseThrow(() -> new ResourceNotFoundException("Target user not found"));
+        // kendine oluşturuyorsa sadece FK lazım, proxy yeterli (SELECT atılmaz)
+        User targetUser;
+        String targetUsername;
+        if (currentUserId.equals(targetUserId)) {
+            targetUser = userRepository.getReferenceById(currentUserId);
+            targetUsername = currentUser.getUsername();
+        } else {
+            targetUser = userRepository.findById(targetUserId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Target user not found"));
+            targetUsername = targetUser.getUsername();
+        }
         
         // entity oluştur constructorıyla
         Task task = new Task();
@@ -141,82 +452,260 @@ public class TaskApplicationServiceImpl implements TaskApplicationService {
         task.setCreatedDate(LocalDateTime.now());
         
         Task savedTask = taskRepository.save(task);
+        eventPublisher.publishEvent(TaskChangedEvent.created(savedTask.getId(), savedTask.getChangeSeq(),
+                targetUserId, savedTask.getStatus(), savedTask.getTitle(), savedTask.getDescription()));
         
-        return new TaskResponse(
-            savedTask.getId(),
-            savedTask.getTitle(),
-            savedTask.getDescription(),
-            savedTask.getStatus(),
-            savedTask.getCreatedDate(),
-            savedTask.getUser().getId(),
-            savedTask.getUser().getUsername()
-        );
+        return toResponse(savedTask, targetUserId, targetUsername);
     }
     
     @Override
     @Transactional
     public TaskResponse updateTask(UpdateTaskCommand command) {
-        Long currentUserId = SecurityUtils.getCurrentUserId();
+        UserPrincipal currentUser = SecurityUtils.getCurrentUser();
+        Long currentUserId = currentUser.getId();
+        boolean isAdmin = SecurityUtils.isAdmin(currentUser);
         
         // Title validation controller da Bean Validation ile yapılır
-        String title = command.getTitle();
+        String title = command.getTitle().trim();
+        
+        // önceki hal (response ve change event için) entity yüklemeden, yetkili ve kilitli tek PK okumasıyla gelir
+        TaskResponse current = findAuthorizedForWrite(command.getTaskId(), currentUserId, isAdmin, "You can only update your own tasks");
+        Long previousOwnerId = current.getUser().getId();
+        
+        // sadece admin görevin sahibini değiştirebilir (hedef kullanıcı çoğunlukla L2 cache'ten gelir)
+        Long ownerId = previousOwnerId;
+        String ownerUsername = current.getUser().getUsername();
+        Long targetUserId = command.getTargetUserId();
+        if (isAdmin && targetUserId != null && !targetUserId.equals(previousOwnerId)) {
+            User targetUser = userRepository.findById(targetUserId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Target user not found"));
+            ownerId = targetUser.getId();
+            ownerUsername = targetUser.getUsername();
+        }
         
-        User currentUser = userRepository.findById(currentUserId)
-                .orElseThrow(() -> new ResourceNotFoundException("Current user not found"));
+        long changeSeq = taskChangeSequence.next();
+        taskRepository.updateLocked(command.getTaskId(), title, command.getDescription(), command.getStatus(),
+                userRepository.getReferenceById(ownerId), changeSeq);
+        eventPublisher.publishEvent(TaskChangedEvent.updated(
+                current.getId(), changeSeq, previousOwnerId, current.getStatus(), ownerId, command.getStatus(),
+                title, command.getDescription()));
+        return new TaskResponse(current.getId(), title, command.getDescription(), command.getStatus(),
+                current.getCreatedDate(), ownerId, ownerUsername);
+    }
+    
+    @Override
+    @Transactional
+    public void deleteTask(DeleteTaskCommand command) {
+        UserPrincipal currentUser = SecurityUtils.getCurrentUser();
+        Long currentUserId = currentUser.getId();
+        boolean isAdmin = SecurityUtils.isAdmin(currentUser);
         
-        Task task = taskRepository.findById(command.getTaskId())
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+        TaskResponse current = findAuthorizedForWrite(command.getTaskId(), currentUserId, isAdmin, "You can only delete your own tasks");
+        taskRepository.deleteLocked(command.getTaskId());
+        // silmenin sequence'i tombstone'a yazılır
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(current.getId(), taskChangeSequence.next(),
+                current.getUser().getId(), current.getStatus()));
+    }
+    
+    // yetki kontrolü sorguda; satır gelmezse sadece 404 ile yetki hatası arasında seçim için tekrar bakılır
+    private TaskResponse findAuthorizedForWrite(Long taskId, Long currentUserId, boolean isAdmin, String deniedMessage) {
+        return taskRepository.findAuthorizedForWrite(taskId, currentUserId, isAdmin)
+                .orElseThrow(() -> taskRepository.existsById(taskId)
+                        ? new UnauthorizedException(deniedMessage)
+                        : new ResourceNotFoundException("Task not found"));
+    }
+    
+    
+    @Override
+    @Transactional
+    public List<TaskResponse> createTasks(BulkCreateTasksCommand command) {
+        UserPrincipal currentUser = SecurityUtils.getCurrentUser();
+        Long currentUserId = currentUser.getId();
+        boolean isAdmin = SecurityUtils.isAdmin(currentUser);
+        List<CreateTaskCommand> items = command.getTasks();
         
-        // Authorization 
-        boolean isAdmin = Role.ADMIN.equals(currentUser.getRole());
-        if (!isAdmin && !task.getUser().getId().equals(currentUserId)) {
-            throw new UnauthorizedException("You can only update your own tasks");
+        // tüm set tek geçişte yetkilendirilir, yazmaya başlamadan önce
+        Set<Long> otherUserIds = new HashSet<>();
+        for (CreateTaskCommand item : items) {
+            Long targetUserId = item.getTargetUserId() != null ? item.getTargetUserId() : currentUserId;
+            if (!currentUserId.equals(targetUserId)) {
+                if (!isAdmin) {
+                    throw new UnauthorizedException("You can only create tasks for yourself");
+                }
+                otherUserIds.add(targetUserId);
+            }
         }
         
-        // Güncelle 
-        task.setTitle(title.trim());
-        task.setDescription(command.getDescription());
-        task.setStatus(command.getStatus());
+        // kendisi için proxy yeterli, diğer hedef kullanıcılar tek SELECT ... WHERE id IN (...) ile gelir
+        Map<Long, User> owners = new HashMap<>();
+        owners.put(currentUserId, userRepository.getReferenceById(currentUserId));
+        if (!otherUserIds.isEmpty()) {
+            for (User user : userRepository.findAllById(otherUserIds)) {
+                owners.put(user.getId(), user);
+            }
+            for (Long userId : otherUserIds) {
+                if (!owners.containsKey(userId)) {
+                    throw new ResourceNotFoundException("Target user not found: " + userId);
+                }
+            }
+        }
         
-        // sadece admin görevin sahibini değiştirebilir
-        Long targetUserId = command.getTargetUserId();
-        if (isAdmin && targetUserId != null && !targetUserId.equals(task.getUser().getId())) {
-            User targetUser = userRepository.findById(targetUserId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Target user not found"));
-            task.setUser(targetUser);
+        LocalDateTime now = LocalDateTime.now();
+        List<Task> tasks = new ArrayList<>(items.size());
+        for (CreateTaskCommand item : items) {
+            Long targetUserId = item.getTargetUserId() != null ? item.getTargetUserId() : currentUserId;
+            Task task = new Task();
+            task.setTitle(item.getTitle().trim());
+            task.setDescription(item.getDescription());
+            task.setStatus(item.getStatus() != null ? item.getStatus() : TaskStatus.NEW);
+            task.setUser(owners.get(targetUserId));
+            task.setCreatedDate(now);
+            tasks.add(task);
         }
         
-        Task savedTask = taskRepository.save(task);
+        // id'ler pooled sequence'ten gelir, INSERT'ler flush'ta hibernate.jdbc.batch_size'lık batch'lerle gider
+        List<Task> savedTasks = taskRepository.saveAll(tasks);
         
-        return new TaskResponse(
-            savedTask.getId(),
-            savedTask.getTitle(),
-            savedTask.getDescription(),
-            savedTask.getStatus(),
-            savedTask.getCreatedDate(),
-            savedTask.getUser().getId(),
-            savedTask.getUser().getUsername()
-        );
+        List<TaskResponse> responses = new ArrayList<>(savedTasks.size());
+        for (Task task : savedTasks) {
+            Long ownerId = task.getUser().getId();
+            eventPublisher.publishEvent(TaskChangedEvent.created(
+                    task.getId(), task.getChangeSeq(), ownerId, task.getStatus(), task.getTitle(), task.getDescription()));
+            String ownerUsername = currentUserId.equals(ownerId) ? currentUser.getUsername() : task.getUser().getUsername();
+            responses.add(toResponse(task, ownerId, ownerUsername));
+        }
+        return responses;
     }
     
     @Override
     @Transactional
-    public void deleteTask(DeleteTaskCommand command) {
-        Long currentUserId = SecurityUtils.getCurrentUserId();
+    public List<TaskResponse> updateTasks(BulkUpdateTasksCommand command) {
+        UserPrincipal currentUser = SecurityUtils.getCurrentUser();
+        Long currentUserId = currentUser.getId();
+        boolean isAdmin = SecurityUtils.isAdmin(currentUser);
+        List<UpdateTaskCommand> items = command.getTasks();
         
-        User currentUser = userRepository.findById(currentUserId)
-                .orElseThrow(() -> new ResourceNotFoundException("Current user not found"));
+        List<Long> taskIds = new ArrayList<>(items.size());
+        for (UpdateTaskCommand item : items) {
+            taskIds.add(item.getTaskId());
+        }
+        Set<Long> uniqueIds = new HashSet<>(taskIds);
+        if (uniqueIds.size() != taskIds.size()) {
+            throw new ValidationException("Duplicate task id in bulk update");
+        }
+        
+        // görevler sahipleriyle birlikte tek sorguda gelir
+        Map<Long, Task> tasks = new HashMap<>();
+        for (Task task : taskRepository.findAllWithUserByIdIn(uniqueIds)) {
+            tasks.put(task.getId(), task);
+        }
+        
+        // tüm set tek geçişte yetkilendirilir, bir tanesi bile başarısızsa hiçbir şey yazılmaz
+        Set<Long> newOwnerIds = new HashSet<>();
+        for (UpdateTaskCommand item : items) {
+            Task task = tasks.get(item.getTaskId());
+            if (task == null) {
+                throw new ResourceNotFoundException("Task not found: " + item.getTaskId());
+            }
+            if (!isAdmin && !task.getUser().getId().equals(currentUserId)) {
+                throw new UnauthorizedException("You can only update your own tasks");
+            }
+            // sadece admin görevin sahibini değiştirebilir
+            Long targetUserId = item.getTargetUserId();
+            if (isAdmin && targetUserId != null && !targetUserId.equals(task.getUser().getId())) {
+                newOwnerIds.add(targetUserId);
+            }
+        }
         
-        Task task = taskRepository.findById(command.getTaskId())
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+        Map<Long, User> newOwners = new HashMap<>();
+        if (!newOwnerIds.isEmpty()) {
+            for (User user : userRepository.findAllById(newOwnerIds)) {
+                newOwners.put(user.getId(), user);
+            }
+            for (Long userId : newOwnerIds) {
+                if (!newOwners.containsKey(userId)) {
+                    throw new ResourceNotFoundException("Target user not found: " + userId);
+                }
+            }
+        }
         
-        // Authorization - Service katmanında
-        boolean isAdmin = Role.ADMIN.equals(currentUser.getRole());
-        if (!isAdmin && !task.getUser().getId().equals(currentUserId)) {
-            throw new UnauthorizedException("You can only delete your own tasks");
+        // dirty checking: UPDATE'ler flush'ta order_updates ile sıralanıp batch'lenir
+        List<Long> previousOwnerIds = new ArrayList<>(items.size());
+        List<TaskStatus> previousStatuses = new ArrayList<>(items.size());
+        for (UpdateTaskCommand item : items) {
+            Task task = tasks.get(item.getTaskId());
+            previousOwnerIds.add(task.getUser().getId());
+            previousStatuses.add(task.getStatus());
+            task.setTitle(item.getTitle().trim());
+            task.setDescription(item.getDescription());
+            task.setStatus(item.getStatus());
+            User newOwner = item.getTargetUserId() != null ? newOwners.get(item.getTargetUserId()) : null;
+            if (newOwner != null) {
+                task.setUser(newOwner);
+            }
         }
         
-        taskRepository.delete(task);
+        // change_seq @PreUpdate'te flush sırasında atanır; event'ler bu yüzden flush'tan sonra yayınlanır
+        taskRepository.flush();
+        List<TaskResponse> responses = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            Task task = tasks.get(items.get(i).getTaskId());
+            eventPublisher.publishEvent(TaskChangedEvent.updated(
+                    task.getId(), task.getChangeSeq(), previousOwnerIds.get(i), previousStatuses.get(i),
+                    task.getUser().getId(), task.getStatus(), task.getTitle(), task.getDescription()));
+            responses.add(toResponse(task, task.getUser().getId(), task.getUser().getUsername()));
+        }
+        return responses;
+    }
+    
+    @Override
+    @Transactional
+    public void deleteTasks(BulkDeleteTasksCommand command) {
+        UserPrincipal currentUser = SecurityUtils.getCurrentUser();
+        Long currentUserId = currentUser.getId();
+        boolean isAdmin = SecurityUtils.isAdmin(currentUser);
+        
+        Set<Long> taskIds = new HashSet<>(command.getTaskIds());
+        
+        // sahiplik kontrolü için user_id FK yeterli, user proxy'leri initialize edilmez
+        List<Task> tasks = taskRepository.findAllById(taskIds);
+        if (tasks.size() != taskIds.size()) {
+            for (Task task : tasks) {
+                taskIds.remove(task.getId());
+            }
+            throw new ResourceNotFoundException("Task not found: " + taskIds.iterator().next());
+        }
+        if (!isAdmin) {
+            for (Task task : tasks) {
+                if (!task.getUser().getId().equals(currentUserId)) {
+                    throw new UnauthorizedException("You can only delete your own tasks");
+                }
+            }
+        }
+        
+        // tek DELETE FROM tasks WHERE id IN (...)
+        taskRepository.deleteAllByIdInBatch(taskIds);
+        for (Task task : tasks) {
+            eventPublisher.publishEvent(TaskChangedEvent.deleted(task.getId(), taskChangeSequence.next(),
+                    task.getUser().getId(), task.getStatus()));
+        }
+    }
+    
+    private TaskResponse toResponse(Task task, Long ownerId, String ownerUsername) {
+        return new TaskResponse(
+            task.getId(),
+            task.getTitle(),
+            task.getDescription(),
+            task.getStatus(),
+            task.getCreatedDate(),
+            ownerId,
+            ownerUsername
+        );
+    }
+    
+    // kapsam (ownerId null: admin) ve status filtresiyle bir sayfa okuyan projection
+    @FunctionalInterface
+    private interface SliceLoader<T> {
+        Slice<T> load(Long ownerId, TaskStatus status, Pageable pageable);
     }
 }
-
@@ -0,0 +1,92 @@
+package com.example.taskmanager.service.impl;
+
+import com.example.taskmanager.exception.ValidationException;
+import org.springframework.data.domain.Sort;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Whitelisted task listing sorts. Every Sort is built once and ends with an
+ * id tie-breaker, so paging is stable and matches the tasks indexes.
+ */
+public enum TaskSort {
+    CREATED_DATE_DESC("createdDate", Sort.Direction.DESC, true),
+    CREATED_DATE_ASC("createdDate", Sort.Direction.ASC, true),
+    ID_DESC("id", Sort.Direction.DESC, true),
+    ID_ASC("id", Sort.Direction.ASC, true),
+    STATUS_DESC("status", Sort.Direction.DESC, false),
+    STATUS_ASC("status", Sort.Direction.ASC, false),
+    TITLE_DESC("title", Sort.Direction.DESC, false),
+    TITLE_ASC("title", Sort.Direction.ASC, false);
+    
+    public static final TaskSort DEFAULT = CREATED_DATE_DESC;
+    
+    // kabul edilen yazımlar: "createdDate,desc", "createdDate,DESC" (istekte allocation yapılmadan bulunur)
+    private static final Map<String, TaskSort> BY_KEY = new HashMap<>();
+    
+    static {
+        for (TaskSort taskSort : values()) {
+            String direction = taskSort.direction.name();
+            BY_KEY.put(taskSort.field + "," + direction.toLowerCase(Locale.ROOT), taskSort);
+            BY_KEY.put(taskSort.field + "," + direction, taskSort);
+        }
+    }
+    
+    private final String field;
+    private final Sort.Direction direction;
+    private final Sort sort;
+    private final boolean indexBacked;
+    
+    TaskSort(String field, Sort.Direction direction, boolean indexBacked) {
+        this.field = field;
+        this.direction = direction;
+        this.sort = "id".equals(field)
+            ? Sort.by(direction, "id")
+            : Sort.by(direction, field).and(Sort.by(direction, "id"));
+        this.indexBacked = indexBacked;
+    }
+    
+    // String formatındaki sort bilgisini ("alan,yön") whitelist'e göre çözer
+    // paremetre yoksa default date e gore descending, desteklenmeyen sort 400 döner
+    public static TaskSort parse(String sortString) {
+        if (sortString == null || sortString.isEmpty()) {
+            return DEFAULT;
+        }
+        
+        TaskSort taskSort = BY_KEY.get(sortString);
+        if (taskSort != null) {
+            return taskSort;
+        }
+        
+        // standart dışı yazım (boşluk, büyük/küçük harf) için yavaş yol
+        String normalized = sortString.replace(" ", "");
+        if (normalized.isEmpty()) {
+            return DEFAULT;
+        }
+        for (TaskSort candidate : values()) {
+            if (normalized.equalsIgnoreCase(candidate.field + "," + candidate.direction.name())) {
+                return candidate;
+            }
+        }
+        throw new ValidationException("Unsupported sort: " + sortString);
+    }
+    
+    public String getField() {
+        return field;
+    }
+    
+    public Sort.Direction getDirection() {
+        return direction;
+    }
+    
+    public Sort getSort() {
+        return sort;
+    }
+    
+    // tasks tablosunda bu sıralamayı doğrudan karşılayan index var mı
+    public boolean isIndexBacked() {
+        return indexBacked;
+    }
+}
@@ -1,48 +1,99 @@
 package com.example.taskmanager.service.impl;
 
+import com.example.taskmanager.cache.UserDirectoryCache;
 import com.example.taskmanager.command.LoginCommand;
 import com.example.taskmanager.dto.LoginResponse;
 import com.example.taskmanager.dto.UserResponse;
 import com.example.taskmanager.entity.Role;
 import com.example.taskmanager.entity.User;
 import com.example.taskmanager.exception.UnauthorizedException;
+import com.example.taskmanager.exception.ValidationException;
 import com.example.taskmanager.repository.UserRepository;
 import com.example.taskmanager.security.JwtTokenProvider;
+import com.example.taskmanager.security.LoginRateLimiter;
+import com.example.taskmanager.security.LoginVerificationExecutor;
 import com.example.taskmanager.security.UserPrincipal;
 import com.example.taskmanager.service.UserApplicationService;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
 
+// her public metod için taskmanager.service timer'ı (class/method tag'leriyle)
 @Service
+@Timed(value = "taskmanager.service", histogram = true)
 public class UserApplicationServiceImpl implements UserApplicationService {
     
     private final UserRepository userRepository;
     private final JwtTokenProvider jwtTokenProvider;
     private final PasswordEncoder passwordEncoder;
+    private final UserDirectoryCache userDirectoryCache;
+    private final LoginRateLimiter loginRateLimiter;
+    private final LoginVerificationExecutor loginVerificationExecutor;
+    private final Timer bcryptTimer;
+    
+    // readOnly değil: replica routing açıkken dizin primary'den yüklenir. Geride kalan replica'dan okunan eski liste
+    // invalidation sonrası yeni versiyon/ETag ile cache'lenir ve bir sonraki kullanıcı yazımına kadar 304'le sunulurdu.
+    // REQUIRES_NEW: readOnly bir transaction içinden çağrılsa da ona katılmaz
+    private final TransactionTemplate primaryTransaction;
+    
+    // bilinmeyen kullanıcı adında da BCrypt çalışsın diye (sabit süre), başlangıçta bir kez üretilir
+    private final String dummyPasswordHash;
+    
+    private static final int DEFAULT_USER_PAGE_SIZE = 50;
+    private static final int MAX_USER_PAGE_SIZE = 500;
     
     @Autowired
-    public UserApplicationServiceImpl(UserRepository userRepository, JwtTokenProvider jwtTokenProvider, PasswordEncoder passwordEncoder) {
+    public UserApplicationServiceImpl(UserRepository userRepository, JwtTokenProvider jwtTokenProvider, PasswordEncoder passwordEncoder,
+                                      UserDirectoryCache userDirectoryCache, LoginRateLimiter loginRateLimiter,
+                                      LoginVerificationExecutor loginVerificationExecutor, MeterRegistry meterRegistry,
+                                      PlatformTransactionManager transactionManager) {
         this.userRepository = userRepository;
         this.jwtTokenProvider = jwtTokenProvider;
         this.passwordEncoder = passwordEncoder;
+        this.userDirectoryCache = userDirectoryCache;
+        this.loginRateLimiter = loginRateLimiter;
+        this.loginVerificationExecutor = loginVerificationExecutor;
+        this.bcryptTimer = Timer.builder("taskmanager.login.bcrypt")
+                .description("BCrypt password verification time")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.primaryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.dummyPasswordHash = passwordEncoder.encode("dummy-password-for-constant-time");
     }
     
     @Override
-    @Transactional(readOnly = true)
-    public LoginResponse login(LoginCommand command) {
+    public CompletableFuture<LoginResponse> login(LoginCommand command) {
         // Username  password validation controller da Bean Validation ile yapılır
         String username = command.getUsername();
         String password = command.getPassword();
         
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UnauthorizedException("Invalid username or password"));
+        // rate limit servlet thread'inde kontrol edilir, aşıldıysa hemen 429
+        loginRateLimiter.checkAllowed(username, command.getClientIp());
         
-        if (!passwordEncoder.matches(password, user.getPassword())) {
+        return loginVerificationExecutor.submit(() -> verify(username, password));
+    }
+    
+    private LoginResponse verify(String username, String password) {
+        User user = userRepository.findByUsername(username).orElse(null);
+        
+        if (user == null) {
+            // kullanıcı yoksa da aynı maliyette BCrypt çalıştırılır, yanıt süresinden username anlaşılmaz
+            passwordMatches(password, dummyPasswordHash);
+            throw new UnauthorizedException("Invalid username or password");
+        }
+        
+        if (!passwordMatches(password, user.getPassword())) {
             throw new UnauthorizedException("Invalid username or password");
         }
         
@@ -53,12 +104,47 @@ public class UserApplicationServiceImpl implements UserApplicationService {
         return new LoginResponse(user.getId(), user.getUsername(), user.getRole(), token);
     }
     
+    private boolean passwordMatches(String rawPassword, String passwordHash) {
+        return bcryptTimer.record(() -> passwordEncoder.matches(rawPassword, passwordHash));
+    }
+    
     @Override
-    @Transactional(readOnly = true)
     public List<UserResponse> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(user -> new UserResponse(user.getId(), user.getUsername(), user.getRole()))
-                .collect(Collectors.toList());
+        return userDirectoryCache.get(this::loadDirectory).getUsers();
+    }
+    
+    @Override
+    public List<UserResponse> searchUsers(String prefix, Integer page, Integer size) {
+        UserDirectoryCache.Snapshot snapshot = userDirectoryCache.get(this::loadDirectory);
+        
+        List<UserResponse> users = prefix != null && !prefix.isBlank()
+                ? snapshot.findByPrefix(prefix.trim())
+                : snapshot.getUsers();
+        
+        if (page == null && size == null) {
+            return users;
+        }
+        
+        int pageNumber = page != null ? page : 0;
+        int pageSize = size != null ? size : DEFAULT_USER_PAGE_SIZE;
+        if (pageNumber < 0 || pageSize < 1 || pageSize > MAX_USER_PAGE_SIZE) {
+            throw new ValidationException("Invalid page or size (size must be between 1 and " + MAX_USER_PAGE_SIZE + ")");
+        }
+        
+        long from = (long) pageNumber * pageSize;
+        if (from >= users.size()) {
+            return List.of();
+        }
+        return users.subList((int) from, (int) Math.min(users.size(), from + pageSize));
+    }
+    
+    private List<UserResponse> loadDirectory() {
+        return primaryTransaction.execute(tx -> userRepository.findAllResponses());
+    }
+    
+    @Override
+    public String getUsersETag() {
+        return "W/\"users-" + userDirectoryCache.getEpoch() + "-" + userDirectoryCache.getVersion() + "\"";
     }
     
     @Override
@@ -0,0 +1,26 @@
+package com.example.taskmanager.sync;
+
+import com.example.taskmanager.entity.Task;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener on Task: stamps every insert and dirty-checked update
+ * with the next change sequence. JPQL updates set it explicitly.
+ */
+@Component
+public class TaskChangeListener {
+    
+    private final TaskChangeSequence taskChangeSequence;
+    
+    public TaskChangeListener(TaskChangeSequence taskChangeSequence) {
+        this.taskChangeSequence = taskChangeSequence;
+    }
+    
+    @PrePersist
+    @PreUpdate
+    public void onTaskWritten(Task task) {
+        task.setChangeSeq(taskChangeSequence.next());
+    }
+}
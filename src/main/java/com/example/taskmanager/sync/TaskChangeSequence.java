@@ -0,0 +1,149 @@
+package com.example.taskmanager.sync;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Change sequence for task writes and tombstones, allocated from the
+ * task_change_seq database sequence so that all instances share one order.
+ * <p>
+ * Sequences are assigned before commit, so a later sequence can commit
+ * earlier. Sequences of this instance's open transactions are tracked, and
+ * {@link #safeWatermark()} only exposes the range below the oldest one: a
+ * client that syncs up to the watermark never skips a change from this
+ * instance that commits afterwards. Open transactions of other instances are
+ * not visible here; their changes are covered once they commit.
+ */
+@Component
+public class TaskChangeSequence {
+    
+    private static final String SEQUENCE_NAME = "task_change_seq";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+    private final ObjectProvider<PlatformTransactionManager> transactionManager;
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    
+    // commit/rollback'i beklenen sequence'ler (sadece watermark için)
+    private final NavigableSet<Long> inFlight = new ConcurrentSkipListSet<>();
+    
+    private String nextValueSql;
+    private long highestAllocated;
+    
+    // EMF ve transaction manager lazy: TaskChangeListener (ve bu bean) EMF kurulurken oluşturulur
+    public TaskChangeSequence(JdbcTemplate jdbcTemplate, ObjectProvider<EntityManagerFactory> entityManagerFactory,
+                              ObjectProvider<PlatformTransactionManager> transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.transactionManager = transactionManager;
+    }
+    
+    /**
+     * Allocates the next sequence. Inside a transaction it stays in flight
+     * until the transaction completes.
+     */
+    public long next() {
+        long seq;
+        // nextval ve in-flight kaydı aynı kilit altında: watermark ikisinin arasına düşemez
+        lock.lock();
+        try {
+            seq = jdbcTemplate.queryForObject(nextValueSql(), Long.class);
+            highestAllocated = Math.max(highestAllocated, seq);
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                inFlight.add(seq);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            releaseAfterCompletion(seq);
+        }
+        return seq;
+    }
+    
+    /**
+     * Highest sequence up to which every change is committed, as seen from
+     * this instance: the committed maximum in the database, capped below the
+     * oldest sequence still open here.
+     */
+    public long safeWatermark() {
+        // kilitten önce okunur: sonradan alınan her sequence bu değerden büyüktür, daha önce alınan açık olan inFlight'tadır
+        Long committed = jdbcTemplate.queryForObject("SELECT MAX(seq) FROM ("
+                + "SELECT MAX(change_seq) AS seq FROM tasks "
+                + "UNION ALL SELECT MAX(change_seq) FROM task_tombstones "
+                + "UNION ALL SELECT MAX(purged_through) FROM task_tombstone_purges) latest", Long.class);
+        long watermark = committed != null ? committed : 0;
+        lock.lock();
+        try {
+            return inFlight.isEmpty() ? watermark : Math.min(watermark, inFlight.first() - 1);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Watermark from this instance's allocations only, without a database
+     * round trip: every sequence up to it that was allocated here has
+     * completed. Used as the resume point of stream events.
+     */
+    public long localWatermark() {
+        lock.lock();
+        try {
+            return inFlight.isEmpty() ? highestAllocated : inFlight.first() - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    // ilk kullanımda (şema oluştuktan sonra): sequence yoksa mevcut en büyük change_seq'in üstünden başlatılır
+    private String nextValueSql() {
+        if (nextValueSql == null) {
+            // ayrı transaction: PostgreSQL'de DDL yazan transaction'la birlikte geri alınmasın
+            TransactionTemplate ddlTransaction = new TransactionTemplate(transactionManager.getObject());
+            ddlTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            ddlTransaction.executeWithoutResult(tx -> {
+                Long maxTask = jdbcTemplate.queryForObject("SELECT MAX(change_seq) FROM tasks", Long.class);
+                Long maxTombstone = jdbcTemplate.queryForObject("SELECT MAX(change_seq) FROM task_tombstones", Long.class);
+                long start = Math.max(maxTask != null ? maxTask : 0, maxTombstone != null ? maxTombstone : 0) + 1;
+                jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + SEQUENCE_NAME + " START WITH " + start);
+            });
+            nextValueSql = entityManagerFactory.getObject().unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices().getDialect().getSequenceSupport().getSequenceNextValString(SEQUENCE_NAME);
+        }
+        return nextValueSql;
+    }
+    
+    // transaction başına tek synchronization; toplu yazmada tüm sequence'ler birlikte bırakılır
+    private void releaseAfterCompletion(long seq) {
+        @SuppressWarnings("unchecked")
+        List<Long> pending = (List<Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<Long> sequences = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, sequences);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TaskChangeSequence.this);
+                    inFlight.removeAll(sequences);
+                }
+            });
+            pending = sequences;
+        }
+        pending.add(seq);
+    }
+}
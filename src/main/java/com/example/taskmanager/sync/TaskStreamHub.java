@@ -0,0 +1,433 @@
+package com.example.taskmanager.sync;
+
+import com.example.taskmanager.dto.TaskStreamEvent;
+import com.example.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.exception.ServiceUnavailableException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fan-out hub behind GET /api/tasks/stream (Server-Sent Events).
+ * <p>
+ * Connections are servlet async requests written with non-blocking I/O
+ * (WriteListener): an idle or slow subscriber holds no thread. Committed task
+ * changes are serialized once and only enqueued into each matching
+ * subscriber's bounded buffer on the committing thread; a small dispatcher
+ * pool writes the buffers while the socket accepts data, at most one drain
+ * per subscriber at a time. A subscriber whose buffer overflows loses the
+ * buffered events and gets a {@code resync} event instead; one whose socket
+ * accepts nothing for {@code task.stream.write-timeout-ms} is disconnected.
+ * <p>
+ * Every stream starts with a {@code ready} event carrying the change
+ * watermark at subscription time; changes above it are pushed on the stream.
+ * Each event's SSE id is a resume point: every change at or below it has
+ * already been sent, so GET /api/tasks/changes?since=&lt;last id&gt; catches up
+ * after a resync or reconnect. Task events also carry their own changeSeq,
+ * so changes already applied from the stream can be skipped.
+ */
+@Component
+public class TaskStreamHub {
+    
+    private static final Logger log = LoggerFactory.getLogger(TaskStreamHub.class);
+    
+    private static final byte[] HEARTBEAT = ":heartbeat\n\n".getBytes(StandardCharsets.UTF_8);
+    
+    private final TaskChangeSequence taskChangeSequence;
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final long timeoutMs;
+    private final long writeTimeoutMs;
+    private final int maxSubscribers;
+    private final ExecutorService dispatcher;
+    
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    
+    // admin tüm görevleri, user sadece kendi görevlerini alır; fan-out sadece ilgili abonelere gider
+    private final Set<Subscriber> adminSubscribers = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Set<Subscriber>> userSubscribers = new ConcurrentHashMap<>();
+    
+    private final Counter sentEvents;
+    private final Counter resyncs;
+    private final Counter rejectedSubscriptions;
+    private final Counter stalledSubscribers;
+    
+    public TaskStreamHub(TaskChangeSequence taskChangeSequence, ObjectMapper objectMapper,
+                         @Value("${task.stream.buffer-size:256}") int bufferSize,
+                         @Value("${task.stream.timeout-ms:1800000}") long timeoutMs,
+                         @Value("${task.stream.write-timeout-ms:30000}") long writeTimeoutMs,
+                         @Value("${task.stream.max-subscribers:10000}") int maxSubscribers,
+                         @Value("${task.stream.dispatcher-threads:2}") int dispatcherThreads,
+                         MeterRegistry meterRegistry) {
+        this.taskChangeSequence = taskChangeSequence;
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.timeoutMs = timeoutMs;
+        this.writeTimeoutMs = writeTimeoutMs;
+        this.maxSubscribers = maxSubscribers;
+        
+        // yazmalar bloklamaz, thread'ler sadece socket'in o an kabul ettiği kadarını yazar;
+        // kuyruk abone sayısıyla sınırlı: her abone için en fazla bir drain bekler
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.dispatcher = new ThreadPoolExecutor(dispatcherThreads, dispatcherThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "task-stream-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        
+        Gauge.builder("taskmanager.tasks.stream.subscribers", subscribers, Set::size)
+                .description("Open task stream connections")
+                .register(meterRegistry);
+        this.sentEvents = Counter.builder("taskmanager.tasks.stream.events")
+                .description("Task events written to stream subscribers")
+                .register(meterRegistry);
+        this.resyncs = Counter.builder("taskmanager.tasks.stream.resyncs")
+                .description("Subscriber buffer overflows answered with a resync event")
+                .register(meterRegistry);
+        this.rejectedSubscriptions = Counter.builder("taskmanager.tasks.stream.rejected")
+                .register(meterRegistry);
+        this.stalledSubscribers = Counter.builder("taskmanager.tasks.stream.stalled")
+                .description("Subscribers disconnected because their socket stopped accepting writes")
+                .register(meterRegistry);
+    }
+    
+    public void subscribe(Long userId, boolean admin, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        if (subscribers.size() >= maxSubscribers) {
+            rejectedSubscriptions.increment();
+            throw new ServiceUnavailableException("Too many task stream subscribers, try again later");
+        }
+        
+        response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        // nginx gibi proxy'ler akışı buffer'lamasın
+        response.setHeader("X-Accel-Buffering", "no");
+        
+        AsyncContext asyncContext = request.startAsync(request, response);
+        asyncContext.setTimeout(timeoutMs);
+        Subscriber subscriber = new Subscriber(asyncContext, response.getOutputStream(), userId, admin, bufferSize);
+        asyncContext.addListener(subscriber);
+        
+        register(subscriber);
+        // kayıttan sonra okunur: watermark'tan büyük her değişiklik bu aboneye de fan-out edilir
+        long watermark = taskChangeSequence.safeWatermark();
+        subscriber.lastEventId = watermark;
+        subscriber.readyFrame = frame("ready", watermark, Map.of("watermark", watermark));
+        
+        // container socket yazılabilir olunca onWritePossible'ı çağırır; ilk drain ready'yi task event'lerinden önce yazar
+        subscriber.out.setWriteListener(subscriber);
+    }
+    
+    // commit sonrası yazan thread'de çalışır: event bir kez serialize edilip sadece buffer'lara eklenir
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        // Değişikliğin sequence'i afterCompletion'a kadar açık sayılır, event afterCommit'te gelir: bu watermark'a kadar
+        // tüm değişiklikler bu event'ten önce buffer'lara eklenmiş olur. SSE id olarak client'ın devam noktasıdır;
+        // event başına DB'ye gidilmez, bu node'un sequence'lerinden hesaplanır
+        long resumeFrom = taskChangeSequence.localWatermark();
+        Frame change = frame("task", resumeFrom, TaskStreamEvent.of(event));
+        for (Subscriber subscriber : adminSubscribers) {
+            publish(subscriber, change);
+        }
+        
+        Long ownerId = event.getOwnerId();
+        Long previousOwnerId = event.getPreviousOwnerId();
+        if (ownerId != null) {
+            publish(userSubscribers.get(ownerId), change);
+        }
+        if (previousOwnerId != null && !previousOwnerId.equals(ownerId)) {
+            // silinen ya da başkasına geçen görev eski sahibin kapsamından çıkar
+            Frame removed = event.getType() == TaskChangedEvent.Type.DELETED
+                    ? change
+                    : frame("task", resumeFrom, TaskStreamEvent.removed(event.getTaskId(), event.getChangeSeq(), previousOwnerId));
+            publish(userSubscribers.get(previousOwnerId), removed);
+        }
+    }
+    
+    // Boşta kalan bağlantıları proxy/load balancer'ın kapatmaması ve kopmuş client'ların fark edilmesi için.
+    // Socket'i write timeout'tan uzun süredir yazılamayan (okumayan) abone bağlantısı kapatılır
+    @Scheduled(fixedDelayString = "${task.stream.heartbeat-ms:15000}")
+    public void sendHeartbeats() {
+        long now = System.currentTimeMillis();
+        for (Subscriber subscriber : subscribers) {
+            long stalledSince = subscriber.stalledSince;
+            if (stalledSince != 0 && now - stalledSince > writeTimeoutMs) {
+                log.debug("Disconnecting stalled task stream subscriber of user {}", subscriber.userId);
+                stalledSubscribers.increment();
+                close(subscriber);
+                continue;
+            }
+            subscriber.heartbeatDue = true;
+            schedule(subscriber);
+        }
+    }
+    
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+    
+    private void publish(Set<Subscriber> targets, Frame change) {
+        if (targets == null) {
+            return;
+        }
+        for (Subscriber subscriber : targets) {
+            publish(subscriber, change);
+        }
+    }
+    
+    private void publish(Subscriber subscriber, Frame change) {
+        if (!subscriber.buffer.offer(change)) {
+            // yavaş abone: biriken event'ler atılır, client /changes ile son id'den devam eder
+            subscriber.buffer.clear();
+            subscriber.resyncPending = true;
+            resyncs.increment();
+        }
+        schedule(subscriber);
+    }
+    
+    private void schedule(Subscriber subscriber) {
+        if (!subscriber.started || subscriber.closed || !subscriber.scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            dispatcher.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            // kapanış sırasında
+            subscriber.scheduled.set(false);
+        }
+    }
+    
+    // Sadece isReady() true iken yazılır, write/flush bloklamaz. isReady() false dönünce container socket
+    // tekrar yazılabilir olduğunda onWritePossible'ı bir kez çağırır, drain oradan devam eder
+    private void drain(Subscriber subscriber) {
+        try {
+            while (!subscriber.closed) {
+                // isReady()'den önce: bu çağrının tetiklediği onWritePossible bayrağı tekrar true yapar
+                subscriber.writable = false;
+                if (!subscriber.out.isReady()) {
+                    if (subscriber.stalledSince == 0) {
+                        subscriber.stalledSince = System.currentTimeMillis();
+                    }
+                    break;
+                }
+                subscriber.writable = true;
+                subscriber.stalledSince = 0;
+                
+                byte[] frame = subscriber.nextFrame();
+                if (frame == null) {
+                    if (!subscriber.unflushed) {
+                        break;
+                    }
+                    // flush da bloklamaz; tamamlanmadıysa sonraki isReady() false döner
+                    subscriber.unflushed = false;
+                    subscriber.out.flush();
+                    continue;
+                }
+                subscriber.out.write(frame);
+                subscriber.unflushed = true;
+            }
+        } catch (IOException | IllegalStateException e) {
+            // client bağlantıyı kapatmış veya async istek tamamlanmış
+            log.debug("Dropping task stream subscriber of user {}: {}", subscriber.userId, e.getMessage());
+            close(subscriber);
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+        
+        // drain bitip flag bırakılırken gelen event veya onWritePossible kaybolmasın
+        if (subscriber.writable && subscriber.hasWork()) {
+            schedule(subscriber);
+        }
+    }
+    
+    private Frame frame(String event, long id, Object data) {
+        try {
+            String frame = "id:" + id + "\nevent:" + event + "\ndata:" + objectMapper.writeValueAsString(data) + "\n\n";
+            return new Frame(id, frame.getBytes(StandardCharsets.UTF_8));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Task stream event could not be serialized", e);
+        }
+    }
+    
+    private void register(Subscriber subscriber) {
+        subscribers.add(subscriber);
+        if (subscriber.admin) {
+            adminSubscribers.add(subscriber);
+        } else {
+            userSubscribers.compute(subscriber.userId, (id, set) -> {
+                Set<Subscriber> target = set != null ? set : ConcurrentHashMap.newKeySet();
+                target.add(subscriber);
+                return target;
+            });
+        }
+    }
+    
+    private void unregister(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscriber.buffer.clear();
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        if (subscriber.admin) {
+            adminSubscribers.remove(subscriber);
+        } else {
+            userSubscribers.computeIfPresent(subscriber.userId, (id, set) -> {
+                set.remove(subscriber);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+    
+    private void close(Subscriber subscriber) {
+        unregister(subscriber);
+        try {
+            subscriber.asyncContext.complete();
+        } catch (IllegalStateException e) {
+            // container zaten tamamlamış
+        }
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        dispatcher.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            close(subscriber);
+        }
+    }
+    
+    // serialize edilmiş SSE event'i; aynı değişiklik tüm abonelere aynı byte'larla gider
+    private record Frame(long id, byte[] bytes) {
+    }
+    
+    private final class Subscriber implements WriteListener, AsyncListener {
+        
+        private final AsyncContext asyncContext;
+        private final ServletOutputStream out;
+        private final Long userId;
+        private final boolean admin;
+        private final BlockingQueue<Frame> buffer;
+        
+        // true iken bir drain kuyrukta veya çalışıyor
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        
+        // ilk onWritePossible'a kadar (WriteListener kaydı) drain başlamaz
+        private volatile boolean started;
+        private volatile boolean writable;
+        private volatile long stalledSince;
+        private volatile Frame readyFrame;
+        private volatile boolean resyncPending;
+        private volatile boolean heartbeatDue;
+        private volatile boolean closed;
+        
+        // sadece drain içinde (tek thread) kullanılır
+        private long lastEventId;
+        private boolean unflushed;
+        
+        private Subscriber(AsyncContext asyncContext, ServletOutputStream out, Long userId, boolean admin, int bufferSize) {
+            this.asyncContext = asyncContext;
+            this.out = out;
+            this.userId = userId;
+            this.admin = admin;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+        
+        private boolean hasWork() {
+            return !closed && (readyFrame != null || resyncPending || heartbeatDue || !buffer.isEmpty());
+        }
+        
+        // sıra: ready, resync (son yazılan id'den devam), task event'leri, heartbeat
+        private byte[] nextFrame() {
+            Frame ready = readyFrame;
+            if (ready != null) {
+                readyFrame = null;
+                return ready.bytes();
+            }
+            if (resyncPending) {
+                resyncPending = false;
+                return frame("resync", lastEventId, Map.of("reason", "overflow", "since", lastEventId)).bytes();
+            }
+            Frame change = buffer.poll();
+            if (change != null) {
+                lastEventId = change.id();
+                sentEvents.increment();
+                return change.bytes();
+            }
+            if (heartbeatDue) {
+                heartbeatDue = false;
+                return HEARTBEAT;
+            }
+            return null;
+        }
+        
+        @Override
+        public void onWritePossible() {
+            started = true;
+            writable = true;
+            schedule(this);
+        }
+        
+        @Override
+        public void onError(Throwable t) {
+            log.debug("Task stream write failed for user {}: {}", userId, t.getMessage());
+            close(this);
+        }
+        
+        @Override
+        public void onComplete(AsyncEvent event) {
+            unregister(this);
+        }
+        
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            close(this);
+        }
+        
+        @Override
+        public void onError(AsyncEvent event) {
+            close(this);
+        }
+        
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.taskmanager.sync;
+
+import com.example.taskmanager.entity.TaskTombstonePurge;
+import com.example.taskmanager.repository.TaskTombstonePurgeRepository;
+import com.example.taskmanager.repository.TaskTombstoneRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Deletes tombstones older than the retention period and records the
+ * highest purged sequence as the sync horizon. Delta sync requests from
+ * below the horizon get a resync response instead of an incomplete delta.
+ */
+@Component
+public class TaskTombstonePurger {
+    
+    private static final Logger log = LoggerFactory.getLogger(TaskTombstonePurger.class);
+    
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final TaskTombstonePurgeRepository taskTombstonePurgeRepository;
+    private final Duration retention;
+    
+    // silme ve ufuk kaydı tek transaction'da: ufku okuyan, tombstone'ları silinmiş ama ufku eski görmez
+    private final TransactionTemplate transaction;
+    
+    public TaskTombstonePurger(TaskTombstoneRepository taskTombstoneRepository,
+                               TaskTombstonePurgeRepository taskTombstonePurgeRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${task.sync.tombstone-retention-days:30}") long retentionDays) {
+        this.taskTombstoneRepository = taskTombstoneRepository;
+        this.taskTombstonePurgeRepository = taskTombstonePurgeRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.retention = Duration.ofDays(retentionDays);
+    }
+    
+    @Scheduled(fixedDelayString = "${task.sync.tombstone-purge-interval-ms:3600000}",
+               initialDelayString = "${task.sync.tombstone-purge-interval-ms:3600000}")
+    public void scheduledPurge() {
+        purge(LocalDateTime.now().minus(retention));
+    }
+    
+    /**
+     * Deletes tombstones up to the newest one removed before the cutoff.
+     * @return number of deleted tombstones
+     */
+    public int purge(LocalDateTime cutoff) {
+        Integer deleted = transaction.execute(tx -> {
+            Long through = taskTombstoneRepository.findMaxChangeSeqRemovedBefore(cutoff);
+            if (through == null) {
+                return 0;
+            }
+            // sequence sırasıyla silinir: ufkun altında tombstone kalmaz, üstünde hiçbiri eksik olmaz
+            int count = taskTombstoneRepository.deleteThrough(through);
+            taskTombstonePurgeRepository.save(new TaskTombstonePurge(through, count, LocalDateTime.now()));
+            log.info("Purged {} task tombstones through change sequence {}", count, through);
+            return count;
+        });
+        return deleted != null ? deleted : 0;
+    }
+}
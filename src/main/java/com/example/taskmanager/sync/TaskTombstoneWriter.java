@@ -0,0 +1,39 @@
+package com.example.taskmanager.sync;
+
+import com.example.taskmanager.entity.TaskTombstone;
+import com.example.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.repository.TaskTombstoneRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Writes a tombstone in the same transaction whenever a task leaves an
+ * owner's scope: on delete, and on reassignment to another user. The
+ * tombstone takes the event's change sequence.
+ */
+@Component
+public class TaskTombstoneWriter {
+    
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    
+    public TaskTombstoneWriter(TaskTombstoneRepository taskTombstoneRepository) {
+        this.taskTombstoneRepository = taskTombstoneRepository;
+    }
+    
+    // @EventListener: yazan transaction içinde senkron çalışır, görev silinip tombstone yazılmaması mümkün değil
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        boolean deleted = event.getType() == TaskChangedEvent.Type.DELETED;
+        boolean reassigned = event.getType() == TaskChangedEvent.Type.UPDATED
+                && !event.getPreviousOwnerId().equals(event.getOwnerId());
+        if (!deleted && !reassigned) {
+            return;
+        }
+        // başkasına geçişte görev satırıyla aynı sequence: eski sahip kaldırmayı, yeni sahip görevi aynı noktada görür
+        // (admin reassigned tombstone'ları görmez, bir kapsamda aynı sequence'le iki değişiklik olmaz)
+        taskTombstoneRepository.save(new TaskTombstone(event.getTaskId(), event.getPreviousOwnerId(),
+                event.getChangeSeq(), reassigned, LocalDateTime.now()));
+    }
+}
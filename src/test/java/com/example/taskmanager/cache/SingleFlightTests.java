@@ -0,0 +1,111 @@
+package com.example.taskmanager.cache;
+
+import com.example.taskmanager.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final SingleFlight<String, Object> singleFlight = new SingleFlight<>("test.coalesce", 5000, meterRegistry);
+
+	@Test
+	void concurrentCallersWithSameKeyShareOneLoad() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger loads = new AtomicInteger();
+		Object result = new Object();
+
+		CompletableFuture<Object> leader = CompletableFuture.supplyAsync(() -> singleFlight.execute("k", () -> {
+			loads.incrementAndGet();
+			await(release);
+			return result;
+		}));
+		awaitCalls("leader", 1);
+
+		CompletableFuture<Object> follower = CompletableFuture.supplyAsync(() -> singleFlight.execute("k", () -> {
+			loads.incrementAndGet();
+			return new Object();
+		}));
+		awaitCalls("follower", 1);
+		release.countDown();
+
+		assertSame(result, leader.get(5, TimeUnit.SECONDS));
+		assertSame(result, follower.get(5, TimeUnit.SECONDS));
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	void differentKeysAndCompletedFlightsAreNotShared() {
+		singleFlight.execute("a", Object::new);
+		Object second = singleFlight.execute("a", Object::new);
+		Object other = singleFlight.execute("b", () -> second);
+
+		assertSame(second, other);
+		assertEquals(3, calls("leader"));
+		assertEquals(0, calls("follower"));
+	}
+
+	@Test
+	void leaderFailureIsRethrownAndNotRemembered() {
+		assertThrows(IllegalStateException.class, () -> singleFlight.execute("k", () -> {
+			throw new IllegalStateException("boom");
+		}));
+
+		Object result = singleFlight.execute("k", Object::new);
+		assertNotNull(result);
+	}
+
+	@Test
+	void followerStopsWaitingForStuckLeader() throws Exception {
+		SingleFlight<String, Object> bounded = new SingleFlight<>("test.bounded", 50, meterRegistry);
+		CountDownLatch release = new CountDownLatch(1);
+		Object result = new Object();
+
+		CompletableFuture<Object> leader = CompletableFuture.supplyAsync(() -> bounded.execute("k", () -> {
+			await(release);
+			return result;
+		}));
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (meterRegistry.get("test.bounded.calls").tag("role", "leader").counter().count() < 1
+				&& System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+
+		assertThrows(ServiceUnavailableException.class, () -> bounded.execute("k", Object::new));
+		assertEquals(1, meterRegistry.get("test.bounded.timeouts").counter().count());
+
+		// leader etkilenmez
+		release.countDown();
+		assertSame(result, leader.get(5, TimeUnit.SECONDS));
+	}
+
+	private void awaitCalls(String role, int expected) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (calls(role) < expected && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+		assertEquals(expected, calls(role));
+	}
+
+	private long calls(String role) {
+		return (long) meterRegistry.get("test.coalesce.calls").tag("role", role).counter().count();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,115 @@
+package com.example.taskmanager.datasource;
+
+import com.example.taskmanager.cache.TaskStatusCounters;
+import com.example.taskmanager.entity.Role;
+import com.example.taskmanager.search.TaskSearchIndex;
+import com.example.taskmanager.security.UserPrincipal;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// replica, aynı H2 veritabanına REPLICA kullanıcısıyla bağlanır (veri aynı, bağlantı ayırt edilebilir);
+// ilk node hiç açılamayan bir replica
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:routingdb;DB_CLOSE_DELAY=-1;INIT=CREATE USER IF NOT EXISTS REPLICA PASSWORD 'replica' ADMIN",
+		"datasource.replica.enabled=true",
+		"datasource.replica.read-your-writes-ms=60000",
+		"datasource.replica.nodes[0].url=jdbc:h2:mem:missing-replica;IFEXISTS=TRUE",
+		"datasource.replica.nodes[0].connection-timeout-ms=250",
+		"datasource.replica.nodes[1].url=jdbc:h2:mem:routingdb;IFEXISTS=TRUE",
+		"datasource.replica.nodes[1].username=REPLICA",
+		"datasource.replica.nodes[1].password=replica"
+})
+@ActiveProfiles("test")
+class ReplicaRoutingDataSourceTests {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private ReadYourWritesTracker readYourWritesTracker;
+
+	@Autowired
+	private TaskStatusCounters taskStatusCounters;
+
+	@Autowired
+	private TaskSearchIndex taskSearchIndex;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@AfterEach
+	void clearAuthentication() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void readOnlyTransactionsUseHealthyReplica() {
+		// ilk denemede ulaşılamayan replica işaretlenir, sonraki okumalar sağlıklı replica'ya gider
+		for (int i = 0; i < 4; i++) {
+			assertEquals("REPLICA", connectedUser(true));
+		}
+	}
+
+	@Test
+	void writeTransactionsUsePrimary() {
+		assertEquals("SA", connectedUser(false));
+	}
+
+	@Test
+	void readsAfterOwnWriteUsePrimary() {
+		authenticate(42L);
+		assertEquals("REPLICA", connectedUser(true));
+
+		// commit sonrası listener'ın yaptığı kayıt
+		readYourWritesTracker.onTaskChanged(null);
+
+		assertEquals("SA", connectedUser(true));
+
+		authenticate(43L);
+		assertEquals("REPLICA", connectedUser(true));
+	}
+
+	@Test
+	void backgroundRebuildsReadFromPrimary() {
+		// sağlıklı replica'nın en az bir bağlantı almış olduğu garanti edilir (timer kayıtlı olsun)
+		assertEquals("REPLICA", connectedUser(true));
+		long replicaAcquires = replicaAcquireCount();
+
+		taskStatusCounters.reconcile();
+		taskSearchIndex.bootstrap();
+
+		assertEquals(replicaAcquires, replicaAcquireCount());
+	}
+
+	private long replicaAcquireCount() {
+		Timer timer = meterRegistry.find("hikaricp.connections.acquire").tag("pool", "replica-1").timer();
+		return timer != null ? timer.count() : 0;
+	}
+
+	private String connectedUser(boolean readOnly) {
+		TransactionTemplate template = new TransactionTemplate(transactionManager);
+		template.setReadOnly(readOnly);
+		return template.execute(status -> jdbcTemplate.queryForObject("SELECT CURRENT_USER", String.class));
+	}
+
+	private void authenticate(Long userId) {
+		UserPrincipal principal = new UserPrincipal(userId, "user-" + userId, "", Role.USER);
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+	}
+}
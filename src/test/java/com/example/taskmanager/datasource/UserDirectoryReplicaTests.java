@@ -0,0 +1,114 @@
+package com.example.taskmanager.datasource;
+
+import com.example.taskmanager.entity.Role;
+import com.example.taskmanager.entity.User;
+import com.example.taskmanager.repository.UserRepository;
+import com.example.taskmanager.security.JwtTokenProvider;
+import com.example.taskmanager.security.UserPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// replica ayrı bir H2 veritabanı: her test öncesi primary'nin kopyası alınır, sonraki yazılar ona gitmez (geride kalan replica)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"spring.datasource.url=jdbc:h2:mem:directorydb;DB_CLOSE_DELAY=-1",
+		"datasource.replica.enabled=true",
+		"datasource.replica.read-your-writes-ms=60000",
+		"datasource.replica.nodes[0].url=" + UserDirectoryReplicaTests.REPLICA_URL,
+		"datasource.replica.nodes[0].username=sa"
+})
+@ActiveProfiles("test")
+class UserDirectoryReplicaTests {
+
+	static final String REPLICA_URL = "jdbc:h2:mem:directory-replica;DB_CLOSE_DELAY=-1";
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JwtTokenProvider jwtTokenProvider;
+
+	private final HttpClient httpClient = HttpClient.newHttpClient();
+
+	private User admin;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		userRepository.deleteAll();
+		admin = saveUser("directory-admin");
+
+		List<String> script = jdbcTemplate.queryForList("SCRIPT", String.class);
+		try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+			 Statement statement = replica.createStatement()) {
+			statement.execute("DROP ALL OBJECTS");
+			for (String sql : script) {
+				statement.execute(sql);
+			}
+		}
+	}
+
+	@Test
+	void userDirectoryReflectsWriteWhileReplicaLags() throws Exception {
+		assertTrue(getUsers().contains("\"username\":\"directory-admin\""));
+
+		// oturumsuz yazı: read-your-writes penceresi açılmaz, sadece primary'ye gider
+		saveUser("directory-new");
+		assertEquals(0, countOnReplica("directory-new"));
+
+		String users = getUsers();
+		assertTrue(users.contains("\"username\":\"directory-new\""));
+	}
+
+	private String getUsers() throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/users"))
+				.header("Authorization", "Bearer " + jwtTokenProvider.generateToken(UserPrincipal.create(admin)))
+				.GET()
+				.build();
+		HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+		assertEquals(200, response.statusCode());
+		return response.body();
+	}
+
+	// readOnly transaction replica'dan okur
+	private int countOnReplica(String username) {
+		TransactionTemplate template = new TransactionTemplate(transactionManager);
+		template.setReadOnly(true);
+		return template.execute(status -> jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM users WHERE username = ?", Integer.class, username));
+	}
+
+	private User saveUser(String username) {
+		User entity = new User();
+		entity.setUsername(username);
+		entity.setPassword("password");
+		entity.setRole(Role.ADMIN);
+		return userRepository.save(entity);
+	}
+}
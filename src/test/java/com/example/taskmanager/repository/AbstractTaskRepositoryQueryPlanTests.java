@@ -0,0 +1,240 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.dto.TaskCursor;
+import com.example.taskmanager.entity.Role;
+import com.example.taskmanager.entity.Task;
+import com.example.taskmanager.entity.TaskStatus;
+import com.example.taskmanager.entity.User;
+import com.example.taskmanager.service.impl.TaskSort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * TaskRepository sorgularının gerçek SQL'ini yakalar, EXPLAIN çalıştırır ve beklenen
+ * index'in kullanıldığını doğrular. Index regresyonu build'i kırar.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+abstract class AbstractTaskRepositoryQueryPlanTests {
+
+	private static final Pageable SECOND_PAGE = PageRequest.of(1, 10, TaskSort.DEFAULT.getSort());
+
+	@Autowired
+	protected TaskRepository taskRepository;
+
+	@Autowired
+	protected UserRepository userRepository;
+
+	@Autowired
+	protected JdbcTemplate jdbcTemplate;
+
+	private Long userId;
+	private TaskCursor cursor;
+
+	// EXPLAIN öncesi session ayarları (ör. PostgreSQL'de küçük tabloda seq scan'i kapatmak)
+	protected abstract List<String> sessionSettings();
+
+	// plan çıktısında tam tablo taraması işareti
+	protected abstract String fullScanMarker();
+
+	// sıralama ayrı bir sort adımı olmadan index sırasından mı geliyor (küçük harfe çevrilmiş plan)
+	protected abstract boolean sortedByIndex(String plan);
+
+	@BeforeEach
+	void setUp() {
+		taskRepository.deleteAll();
+		userRepository.deleteAll();
+
+		LocalDateTime now = LocalDateTime.now();
+		List<Task> tasks = new ArrayList<>();
+		for (int u = 0; u < 5; u++) {
+			User user = new User();
+			user.setUsername("plan-user" + u);
+			user.setPassword("password");
+			user.setRole(Role.USER);
+			user = userRepository.save(user);
+			userId = user.getId();
+			for (int i = 0; i < 60; i++) {
+				Task task = new Task();
+				task.setTitle("task " + i);
+				task.setStatus(TaskStatus.values()[i % 3]);
+				task.setCreatedDate(now.minusMinutes(i));
+				task.setUser(user);
+				tasks.add(task);
+			}
+		}
+		taskRepository.saveAll(tasks);
+		cursor = new TaskCursor(now.minusMinutes(30), Long.MAX_VALUE);
+		jdbcTemplate.execute("ANALYZE");
+	}
+
+	@Test
+	void findByUserIdUsesUserIndex() {
+		capture(() -> taskRepository.findResponsesByUserId(userId, SECOND_PAGE));
+
+		String plan = assertPlan(0, "idx_tasks_user_created", userId, 10, 10);
+		assertTrue(sortedByIndex(plan), "Expected index order without a sort:\n" + plan);
+		// Slice: COUNT(*) sorgusu atılmaz
+		assertEquals(1, statements.size());
+	}
+
+	@Test
+	void findByUserIdAndStatusUsesUserStatusIndex() {
+		capture(() -> taskRepository.findResponsesByUserIdAndStatus(userId, TaskStatus.NEW, SECOND_PAGE));
+
+		assertPlan(0, "idx_tasks_user_status_created", userId, "NEW", 10, 10);
+		assertEquals(1, statements.size());
+	}
+
+	@Test
+	void findByStatusUsesStatusIndex() {
+		capture(() -> taskRepository.findResponsesByStatus(TaskStatus.NEW, SECOND_PAGE));
+
+		assertPlan(0, "idx_tasks_status_created", "NEW", 10, 10);
+		assertEquals(1, statements.size());
+	}
+
+	@Test
+	void findAllUsesCreatedDateIndex() {
+		capture(() -> taskRepository.findAllResponses(SECOND_PAGE));
+
+		assertPlan(0, "idx_tasks_created", 10, 10);
+		assertEquals(1, statements.size());
+	}
+
+	@Test
+	void indexBackedSortsAvoidFullScanForAdminListing() {
+		for (TaskSort taskSort : TaskSort.values()) {
+			if (!taskSort.isIndexBacked()) {
+				continue;
+			}
+			capture(() -> taskRepository.findAllResponses(PageRequest.of(1, 10, taskSort.getSort())));
+
+			assertNoFullScan(0, 10, 10);
+		}
+	}
+
+	@Test
+	void findSliceAfterForUserUsesUserIndex() {
+		capture(() -> taskRepository.findSliceAfter(userId, null, cursor, 10));
+
+		String plan = assertPlan(0, "idx_tasks_user_created", userId, ts(cursor), ts(cursor), cursor.getId(), 11);
+		assertTrue(sortedByIndex(plan), "Expected index order without a sort:\n" + plan);
+	}
+
+	@Test
+	void findSliceAfterForUserAndStatusUsesUserStatusIndex() {
+		capture(() -> taskRepository.findSliceAfter(userId, TaskStatus.NEW, cursor, 10));
+
+		assertPlan(0, "idx_tasks_user_status_created", userId, "NEW", ts(cursor), ts(cursor), cursor.getId(), 11);
+	}
+
+	@Test
+	void findSliceAfterForStatusUsesStatusIndex() {
+		capture(() -> taskRepository.findSliceAfter(null, TaskStatus.NEW, cursor, 10));
+
+		assertPlan(0, "idx_tasks_status_created", "NEW", ts(cursor), ts(cursor), cursor.getId(), 11);
+	}
+
+	@Test
+	void findSliceAfterForAllUsesCreatedDateIndex() {
+		capture(() -> taskRepository.findSliceAfter(null, null, cursor, 10));
+
+		assertPlan(0, "idx_tasks_created", ts(cursor), ts(cursor), cursor.getId(), 11);
+	}
+
+	@Test
+	void findChangesByUserIdAfterUsesUserChangeSeqIndex() {
+		capture(() -> taskRepository.findChangesByUserIdAfter(userId, 10, Long.MAX_VALUE, Limit.of(101)));
+
+		assertPlan(0, "idx_tasks_user_change_seq", userId, 10, Long.MAX_VALUE, 101);
+	}
+
+	@Test
+	void findChangesAfterUsesChangeSeqIndex() {
+		capture(() -> taskRepository.findChangesAfter(10, Long.MAX_VALUE, Limit.of(101)));
+
+		assertPlan(0, "idx_tasks_change_seq", 10, Long.MAX_VALUE, 101);
+	}
+
+	private List<String> statements;
+
+	private void capture(Runnable repositoryCall) {
+		SqlCapture.clear();
+		repositoryCall.run();
+		statements = SqlCapture.statements();
+	}
+
+	private String assertPlan(int statementIndex, String expectedIndex, Object... params) {
+		String plan = explain(statementIndex, params);
+		assertTrue(plan.contains(expectedIndex), "Expected " + expectedIndex + " in plan:\n" + plan);
+		assertFalse(plan.contains(fullScanMarker().toLowerCase(Locale.ROOT)), "Unexpected full scan:\n" + plan);
+		return plan;
+	}
+
+	private void assertNoFullScan(int statementIndex, Object... params) {
+		String plan = explain(statementIndex, params);
+		assertFalse(plan.contains(fullScanMarker().toLowerCase(Locale.ROOT)), "Unexpected full scan:\n" + plan);
+	}
+
+	private String explain(int statementIndex, Object... params) {
+		String sql = inline(statements.get(statementIndex), params);
+		return jdbcTemplate.execute((Statement statement) -> {
+			for (String setting : sessionSettings()) {
+				statement.execute(setting);
+			}
+			StringBuilder plan = new StringBuilder();
+			try (ResultSet rs = statement.executeQuery("EXPLAIN " + sql)) {
+				while (rs.next()) {
+					plan.append(rs.getString(1)).append('\n');
+				}
+			}
+			return plan.toString().toLowerCase(Locale.ROOT);
+		});
+	}
+
+	// EXPLAIN her iki veritabanında da bind parametresiz çalışsın diye ? yerine literal konur
+	private static String inline(String sql, Object... params) {
+		StringBuilder result = new StringBuilder();
+		int param = 0;
+		for (char c : sql.toCharArray()) {
+			if (c != '?') {
+				result.append(c);
+				continue;
+			}
+			Object value = params[param++];
+			if (value instanceof Number) {
+				result.append(value);
+			} else if (value instanceof Timestamp) {
+				result.append("TIMESTAMP '").append(value).append('\'');
+			} else {
+				result.append('\'').append(value).append('\'');
+			}
+		}
+		assertEquals(params.length, param, "Parameter count mismatch for: " + sql);
+		return result.toString();
+	}
+
+	private static Timestamp ts(TaskCursor cursor) {
+		return Timestamp.valueOf(cursor.getCreatedDate());
+	}
+}
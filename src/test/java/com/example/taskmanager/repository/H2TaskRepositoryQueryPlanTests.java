@@ -0,0 +1,22 @@
+package com.example.taskmanager.repository;
+
+import java.util.List;
+
+class H2TaskRepositoryQueryPlanTests extends AbstractTaskRepositoryQueryPlanTests {
+
+	@Override
+	protected List<String> sessionSettings() {
+		return List.of();
+	}
+
+	@Override
+	protected String fullScanMarker() {
+		return "tableScan";
+	}
+
+	// kısmi eşleşmede "index sorted: 1 of 3 columns" yazar, kalan kolonlar için yine sıralar
+	@Override
+	protected boolean sortedByIndex(String plan) {
+		return plan.contains("/* index sorted */");
+	}
+}
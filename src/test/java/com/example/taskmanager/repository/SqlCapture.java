@@ -0,0 +1,26 @@
+package com.example.taskmanager.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Hibernate'in ürettiği SQL'leri yakalar (statement count ve query plan testleri için)
+public class SqlCapture implements StatementInspector {
+
+	private static final List<String> STATEMENTS = new ArrayList<>();
+
+	@Override
+	public synchronized String inspect(String sql) {
+		STATEMENTS.add(sql);
+		return sql;
+	}
+
+	public static synchronized void clear() {
+		STATEMENTS.clear();
+	}
+
+	public static synchronized List<String> statements() {
+		return new ArrayList<>(STATEMENTS);
+	}
+}
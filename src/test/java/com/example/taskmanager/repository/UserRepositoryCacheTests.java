@@ -0,0 +1,88 @@
+package com.example.taskmanager.repository;
+
+import com.example.taskmanager.entity.Role;
+import com.example.taskmanager.entity.User;
+import com.example.taskmanager.security.TokenRevocationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// User id ve username lookup'larının second-level cache'ten geldiğini ve yazmada güncellendiğini doğrular
+@SpringBootTest
+@ActiveProfiles("test")
+class UserRepositoryCacheTests {
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TokenRevocationRegistry tokenRevocationRegistry;
+
+	private User user;
+
+	@BeforeEach
+	void setUp() {
+		taskRepository.deleteAll();
+		userRepository.deleteAll();
+
+		User entity = new User();
+		entity.setUsername("cached-user");
+		entity.setPassword("password");
+		entity.setRole(Role.USER);
+		user = userRepository.save(entity);
+	}
+
+	@Test
+	void repeatedLookupsDoNotHitDatabase() {
+		// ilk okuma cache'i doldurur
+		userRepository.findById(user.getId());
+
+		SqlCapture.clear();
+		userRepository.findById(user.getId());
+		userRepository.findByUsername("cached-user");
+		userRepository.findByUsername("cached-user");
+
+		assertEquals(0, SqlCapture.statements().size());
+	}
+
+	@Test
+	void writesRefreshCachedUser() {
+		userRepository.findByUsername("cached-user");
+
+		User loaded = userRepository.findById(user.getId()).orElseThrow();
+		loaded.setRole(Role.ADMIN);
+		userRepository.save(loaded);
+
+		assertEquals(Role.ADMIN, userRepository.findByUsername("cached-user").orElseThrow().getRole());
+
+		userRepository.delete(loaded);
+
+		assertTrue(userRepository.findByUsername("cached-user").isEmpty());
+		assertTrue(userRepository.findById(user.getId()).isEmpty());
+	}
+
+	@Test
+	void roleChangeRevokesEarlierTokens() {
+		Date issuedBefore = new Date(System.currentTimeMillis() - 1000);
+		assertFalse(tokenRevocationRegistry.isRevoked(user.getId(), issuedBefore));
+
+		User loaded = userRepository.findById(user.getId()).orElseThrow();
+		loaded.setRole(Role.ADMIN);
+		userRepository.save(loaded);
+
+		// eski rolü taşıyan token reddedilir, sonra üretilen token etkilenmez
+		assertTrue(tokenRevocationRegistry.isRevoked(user.getId(), issuedBefore));
+		assertFalse(tokenRevocationRegistry.isRevoked(user.getId(), new Date(System.currentTimeMillis() + 2000)));
+	}
+}
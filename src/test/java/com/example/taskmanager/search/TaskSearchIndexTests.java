@@ -0,0 +1,73 @@
+package com.example.taskmanager.search;
+
+import com.example.taskmanager.dto.TaskResponse;
+import com.example.taskmanager.entity.TaskStatus;
+import com.example.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TaskSearchIndexTests {
+
+	private static final Long OWNER_ID = 7L;
+
+	private final TaskRepository taskRepository = mock(TaskRepository.class);
+	private final TaskSearchIndex taskSearchIndex = new TaskSearchIndex(taskRepository);
+
+	@Test
+	void deleteDuringBootstrapIsNotUndoneByStaleRow() throws Exception {
+		bootstrapWithConcurrentChange(TaskChangedEvent.deleted(1L, 2L, OWNER_ID, TaskStatus.NEW));
+
+		assertEquals(0, taskSearchIndex.size());
+		assertEquals(List.of(), taskSearchIndex.search("stale", null, 10));
+	}
+
+	@Test
+	void updateDuringBootstrapIsNotOverwrittenByStaleRow() throws Exception {
+		bootstrapWithConcurrentChange(TaskChangedEvent.updated(1L, 2L, OWNER_ID, TaskStatus.NEW, OWNER_ID,
+				TaskStatus.DONE, "fresh", null));
+
+		assertEquals(List.of(1L), taskSearchIndex.search("fresh", null, 10));
+		assertEquals(List.of(), taskSearchIndex.search("stale", OWNER_ID, 10));
+	}
+
+	// bootstrap satırı okuyup kontrolü geçtikten sonra, index'e yazmadan önce başka bir thread commit sonrası event'i uygular
+	private void bootstrapWithConcurrentChange(TaskChangedEvent change) throws Exception {
+		AtomicReference<CompletableFuture<Void>> concurrentChange = new AtomicReference<>();
+		TaskResponse staleRow = new TaskResponse(1L, "stale", null, TaskStatus.NEW, LocalDateTime.now(), OWNER_ID, "owner") {
+			@Override
+			public String getTitle() {
+				if (concurrentChange.get() == null) {
+					concurrentChange.set(CompletableFuture.runAsync(() -> taskSearchIndex.onTaskChanged(change)));
+					try {
+						// kilit tutuluyorsa event bekler, beklemeden devam edilir
+						concurrentChange.get().get(500, TimeUnit.MILLISECONDS);
+					} catch (TimeoutException e) {
+						// event bootstrap'ın bu satırı yazmasını bekliyor
+					} catch (Exception e) {
+						throw new IllegalStateException(e);
+					}
+				}
+				return super.getTitle();
+			}
+		};
+		when(taskRepository.streamAllResponses()).thenReturn(Stream.of(staleRow));
+
+		taskSearchIndex.bootstrap();
+		concurrentChange.get().get(5, TimeUnit.SECONDS);
+
+		assertTrue(taskSearchIndex.isReady());
+	}
+}
@@ -0,0 +1,607 @@
+package com.example.taskmanager.service.impl;
+
+import com.example.taskmanager.cache.TaskStatusCounters;
+import com.example.taskmanager.command.BulkCreateTasksCommand;
+import com.example.taskmanager.command.BulkDeleteTasksCommand;
+import com.example.taskmanager.command.BulkUpdateTasksCommand;
+import com.example.taskmanager.command.CreateTaskCommand;
+import com.example.taskmanager.command.DeleteTaskCommand;
+import com.example.taskmanager.command.GetAllTasksQuery;
+import com.example.taskmanager.command.UpdateTaskCommand;
+import com.example.taskmanager.dto.TaskChange;
+import com.example.taskmanager.dto.TaskChangesResponse;
+import com.example.taskmanager.dto.TaskResponse;
+import com.example.taskmanager.dto.TaskSliceResponse;
+import com.example.taskmanager.dto.TaskStatsResponse;
+import com.example.taskmanager.dto.TaskSummaryResponse;
+import com.example.taskmanager.entity.Role;
+import com.example.taskmanager.entity.TaskStatus;
+import com.example.taskmanager.entity.User;
+import com.example.taskmanager.exception.ResourceNotFoundException;
+import com.example.taskmanager.exception.UnauthorizedException;
+import com.example.taskmanager.exception.ValidationException;
+import com.example.taskmanager.repository.SqlCapture;
+import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.repository.TaskTombstonePurgeRepository;
+import com.example.taskmanager.repository.TaskTombstoneRepository;
+import com.example.taskmanager.repository.UserRepository;
+import com.example.taskmanager.security.UserPrincipal;
+import com.example.taskmanager.service.TaskApplicationService;
+import com.example.taskmanager.sync.TaskTombstonePurger;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Service metodlarının attığı SQL statement sayısını doğrular (batch'li statement tek sayılır)
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskApplicationServiceImplTests {
+
+	@Autowired
+	private TaskApplicationService taskApplicationService;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private TaskStatusCounters taskStatusCounters;
+
+	@Autowired
+	private TaskTombstoneRepository taskTombstoneRepository;
+
+	@Autowired
+	private TaskTombstonePurgeRepository taskTombstonePurgeRepository;
+
+	@Autowired
+	private TaskTombstonePurger taskTombstonePurger;
+
+	private Statistics statistics;
+	private User admin;
+	private User user;
+	private User otherUser;
+
+	@BeforeEach
+	void setUp() {
+		taskRepository.deleteAll();
+		userRepository.deleteAll();
+
+		admin = saveUser("admin", Role.ADMIN);
+		user = saveUser("user1", Role.USER);
+		otherUser = saveUser("user2", Role.USER);
+
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+		// ufuk aynı context'i kullanan diğer testlerin since değerlerini etkilemesin
+		taskTombstonePurgeRepository.deleteAll();
+	}
+
+	@Test
+	void createTaskForSelfRunsSingleInsert() {
+		authenticate(user);
+
+		clearCounts();
+		taskApplicationService.createTask(createCommand(null));
+
+		assertEquals(1, statementCount());
+	}
+
+	@Test
+	void createTaskForOtherUserLoadsOnlyTargetUser() {
+		authenticate(admin);
+
+		clearCounts();
+		TaskResponse response = taskApplicationService.createTask(createCommand(otherUser.getId()));
+
+		assertEquals(2, statementCount());
+		assertEquals("user2", response.getUser().getUsername());
+	}
+
+	@Test
+	void updateTaskRunsSelectAndUpdate() {
+		authenticate(user);
+		TaskResponse created = taskApplicationService.createTask(createCommand(null));
+
+		UpdateTaskCommand command = new UpdateTaskCommand();
+		command.setTaskId(created.getId());
+		command.setTitle("updated");
+		command.setStatus(TaskStatus.DONE);
+
+		clearCounts();
+		TaskResponse response = taskApplicationService.updateTask(command);
+
+		// yetkili ve kilitli PK projection + UPDATE, entity yüklenmez
+		assertEquals(2, statementCount());
+		assertTrue(SqlCapture.statements().stream().anyMatch(sql -> sql.toLowerCase(Locale.ROOT).contains("for update")));
+		assertEquals(0, statistics.getEntityLoadCount());
+		assertEquals("user1", response.getUser().getUsername());
+		assertEquals(TaskStatus.DONE, response.getStatus());
+	}
+
+	@Test
+	void writesOnForeignOrMissingTaskKeepApiErrors() {
+		authenticate(otherUser);
+		TaskResponse foreign = taskApplicationService.createTask(createCommand(null));
+
+		authenticate(user);
+		UpdateTaskCommand update = new UpdateTaskCommand();
+		update.setTaskId(foreign.getId());
+		update.setTitle("hijacked");
+		update.setStatus(TaskStatus.DONE);
+		DeleteTaskCommand delete = new DeleteTaskCommand();
+		delete.setTaskId(foreign.getId());
+
+		assertThrows(UnauthorizedException.class, () -> taskApplicationService.updateTask(update));
+		assertThrows(UnauthorizedException.class, () -> taskApplicationService.deleteTask(delete));
+		assertEquals("task", taskRepository.findById(foreign.getId()).orElseThrow().getTitle());
+
+		update.setTaskId(-1L);
+		delete.setTaskId(-1L);
+		assertThrows(ResourceNotFoundException.class, () -> taskApplicationService.updateTask(update));
+		assertThrows(ResourceNotFoundException.class, () -> taskApplicationService.deleteTask(delete));
+
+		// admin başkasının görevini güncelleyip sahibini değiştirebilir
+		authenticate(admin);
+		update.setTaskId(foreign.getId());
+		update.setTargetUserId(user.getId());
+		TaskResponse reassigned = taskApplicationService.updateTask(update);
+		assertEquals("user1", reassigned.getUser().getUsername());
+		assertEquals(user.getId(), taskRepository.findAllWithUserByIdIn(List.of(foreign.getId())).get(0).getUser().getId());
+	}
+
+	@Test
+	void deleteTaskRunsSelectAndDelete() {
+		authenticate(user);
+		TaskResponse created = taskApplicationService.createTask(createCommand(null));
+
+		DeleteTaskCommand command = new DeleteTaskCommand();
+		command.setTaskId(created.getId());
+
+		clearCounts();
+		taskApplicationService.deleteTask(command);
+
+		// SELECT + DELETE + tombstone INSERT
+		assertEquals(3, statementCount());
+		assertEquals(0, statistics.getEntityLoadCount());
+		assertFalse(taskRepository.existsById(created.getId()));
+	}
+
+	@Test
+	void taskChangesReturnWritesAndRemovalsAfterWatermark() {
+		authenticate(user);
+		TaskResponse kept = taskApplicationService.createTask(createCommand(null));
+		TaskResponse removed = taskApplicationService.createTask(createCommand(null));
+		TaskResponse moved = taskApplicationService.createTask(createCommand(null));
+		long watermark = taskApplicationService.getTaskChanges(0L, null).getWatermark();
+
+		UpdateTaskCommand update = new UpdateTaskCommand();
+		update.setTaskId(kept.getId());
+		update.setTitle("updated");
+		update.setStatus(TaskStatus.DONE);
+		taskApplicationService.updateTask(update);
+		DeleteTaskCommand delete = new DeleteTaskCommand();
+		delete.setTaskId(removed.getId());
+		taskApplicationService.deleteTask(delete);
+
+		authenticate(admin);
+		UpdateTaskCommand reassign = new UpdateTaskCommand();
+		reassign.setTaskId(moved.getId());
+		reassign.setTitle("task");
+		reassign.setStatus(TaskStatus.NEW);
+		reassign.setTargetUserId(otherUser.getId());
+		taskApplicationService.updateTask(reassign);
+
+		// user: güncellenen görev, silinen görev ve başkasına geçen görev (kapsamdan çıktı)
+		authenticate(user);
+		TaskChangesResponse changes = taskApplicationService.getTaskChanges(watermark, null);
+		assertEquals(3, changes.getChanges().size());
+		assertChange(changes.getChanges().get(0), TaskChange.Type.UPSERT, kept.getId());
+		assertEquals("updated", changes.getChanges().get(0).getTask().getTitle());
+		assertChange(changes.getChanges().get(1), TaskChange.Type.DELETE, removed.getId());
+		assertChange(changes.getChanges().get(2), TaskChange.Type.DELETE, moved.getId());
+		assertFalse(changes.isHasMore());
+		assertTrue(taskApplicationService.getTaskChanges(changes.getWatermark(), null).getChanges().isEmpty());
+
+		// admin: yeniden atanan görev silinmiş sayılmaz, güncel hali gelir
+		authenticate(admin);
+		TaskChangesResponse adminChanges = taskApplicationService.getTaskChanges(watermark, 2);
+		assertEquals(2, adminChanges.getChanges().size());
+		assertTrue(adminChanges.isHasMore());
+		TaskChangesResponse rest = taskApplicationService.getTaskChanges(adminChanges.getWatermark(), 2);
+		assertEquals(1, rest.getChanges().size());
+		assertChange(rest.getChanges().get(0), TaskChange.Type.UPSERT, moved.getId());
+		assertEquals(otherUser.getId(), rest.getChanges().get(0).getTask().getUser().getId());
+	}
+
+	@Test
+	void taskChangesRequireResyncBelowPurgedTombstones() {
+		authenticate(user);
+		TaskResponse removed = taskApplicationService.createTask(createCommand(null));
+		long beforeDelete = taskApplicationService.getTaskChanges(0L, null).getWatermark();
+		DeleteTaskCommand delete = new DeleteTaskCommand();
+		delete.setTaskId(removed.getId());
+		taskApplicationService.deleteTask(delete);
+		TaskResponse kept = taskApplicationService.createTask(createCommand(null));
+
+		assertTrue(taskTombstonePurger.purge(LocalDateTime.now().plusMinutes(1)) > 0);
+		assertEquals(0, taskTombstoneRepository.count());
+
+		// silme bilgisi kayboldu: eksik delta yerine resync
+		TaskChangesResponse stale = taskApplicationService.getTaskChanges(beforeDelete, null);
+		assertTrue(stale.isResyncRequired());
+		assertTrue(stale.getChanges().isEmpty());
+
+		// baştan yükleyen client watermark'tan devam eder
+		assertTrue(stale.getWatermark() >= taskRepository.findById(kept.getId()).orElseThrow().getChangeSeq());
+		TaskChangesResponse resumed = taskApplicationService.getTaskChanges(stale.getWatermark(), null);
+		assertFalse(resumed.isResyncRequired());
+		assertTrue(resumed.getChanges().isEmpty());
+	}
+
+	@Test
+	void getAllTasksDoesNotReloadCurrentUser() {
+		authenticate(user);
+		taskApplicationService.createTask(createCommand(null));
+
+		clearCounts();
+		taskApplicationService.getAllTasks(new GetAllTasksQuery());
+
+		// tek SELECT: current user yüklenmez, görev sahibi JOIN ile gelir
+		assertEquals(1, statementCount());
+		assertEquals(0, statistics.getEntityLoadCount());
+	}
+
+	@Test
+	void getAllTasksTakesTotalsFromCountersInsteadOfCountQuery() {
+		authenticate(user);
+		for (int i = 0; i < 12; i++) {
+			taskApplicationService.createTask(createCommand(null));
+		}
+		authenticate(otherUser);
+		taskApplicationService.createTask(createCommand(null));
+
+		authenticate(user);
+		GetAllTasksQuery query = new GetAllTasksQuery();
+		clearCounts();
+		Page<TaskResponse> page = (Page<TaskResponse>) taskApplicationService.getAllTasks(query);
+
+		assertEquals(10, page.getNumberOfElements());
+		assertEquals(12, page.getTotalElements());
+		assertEquals(2, page.getTotalPages());
+		assertEquals(1, statementCount());
+
+		query.setIncludeTotals(false);
+		clearCounts();
+		Slice<TaskResponse> slice = taskApplicationService.getAllTasks(query);
+
+		assertFalse(slice instanceof Page);
+		assertTrue(slice.hasNext());
+		assertEquals(1, statementCount());
+	}
+
+	@Test
+	void taskSummariesReadOnlySelectedColumns() {
+		authenticate(user);
+		for (int i = 0; i < 12; i++) {
+			taskApplicationService.createTask(createCommand(null, "task " + i, "long description " + i));
+		}
+
+		GetAllTasksQuery query = new GetAllTasksQuery();
+		query.setFields("title, status");
+		clearCounts();
+		Page<TaskSummaryResponse> page = (Page<TaskSummaryResponse>) taskApplicationService.getTaskSummaries(query);
+
+		assertEquals(10, page.getNumberOfElements());
+		assertEquals(12, page.getTotalElements());
+		TaskSummaryResponse first = page.getContent().get(0);
+		assertEquals("task 11", first.getTitle());
+		assertEquals(TaskStatus.NEW, first.getStatus());
+		assertNull(first.getDescription());
+		assertNull(first.getUser());
+
+		// description okunmaz, user seçilmediği için users JOIN'i yok
+		assertEquals(1, statementCount());
+		String sql = SqlCapture.statements().get(0).toLowerCase(Locale.ROOT);
+		assertFalse(sql.contains("description"));
+		assertFalse(sql.contains("join"));
+
+		query.setFields("user");
+		assertEquals("user1", taskApplicationService.getTaskSummaries(query).getContent().get(0).getUser().getUsername());
+
+		query.setFields("title,secret");
+		assertThrows(ValidationException.class, () -> taskApplicationService.getTaskSummaries(query));
+	}
+
+	@Test
+	void getTasksAfterWalksAllPagesWithoutCountQuery() {
+		authenticate(user);
+		for (int i = 0; i < 12; i++) {
+			taskApplicationService.createTask(createCommand(null));
+		}
+
+		GetAllTasksQuery query = new GetAllTasksQuery();
+		query.setAfter("");
+		TaskSliceResponse first = taskApplicationService.getTasksAfter(query);
+
+		query.setAfter(first.getNextCursor());
+		clearCounts();
+		TaskSliceResponse second = taskApplicationService.getTasksAfter(query);
+
+		assertEquals(10, first.getContent().size());
+		assertTrue(first.isHasNext());
+		assertEquals(2, second.getContent().size());
+		assertFalse(second.isHasNext());
+		assertNull(second.getNextCursor());
+		assertTrue(first.getContent().get(9).getId() > second.getContent().get(0).getId());
+		// COUNT sorgusu atılmaz, görev sahibi JOIN ile gelir
+		assertEquals(1, statementCount());
+	}
+
+	@Test
+	void adminListingAcrossUsersIsSingleSelect() {
+		authenticate(user);
+		taskApplicationService.createTask(createCommand(null));
+		authenticate(otherUser);
+		taskApplicationService.createTask(createCommand(null));
+		authenticate(admin);
+		taskApplicationService.createTask(createCommand(null));
+
+		clearCounts();
+		Slice<TaskResponse> page = taskApplicationService.getAllTasks(new GetAllTasksQuery());
+
+		assertEquals(3, page.getNumberOfElements());
+		assertEquals(1, statementCount());
+		assertEquals(0, statistics.getEntityLoadCount());
+	}
+
+	@Test
+	void bulkCreateWritesInsertsInBatches() {
+		authenticate(user);
+		BulkCreateTasksCommand command = new BulkCreateTasksCommand();
+		List<CreateTaskCommand> items = new ArrayList<>();
+		for (int i = 0; i < 120; i++) {
+			items.add(createCommand(null));
+		}
+		command.setTasks(items);
+
+		clearCounts();
+		List<TaskResponse> responses = taskApplicationService.createTasks(command);
+
+		assertEquals(120, responses.size());
+		assertEquals(120, statistics.getEntityInsertCount());
+		// INSERT tek kez prepare edilir, satırlar addBatch ile gider (batch'siz 120 statement olurdu), user SELECT'i yok
+		assertEquals(1, statementCount());
+	}
+
+	@Test
+	void bulkCreateForeignTargetIsRejectedForUser() {
+		authenticate(user);
+		BulkCreateTasksCommand command = new BulkCreateTasksCommand();
+		command.setTasks(List.of(createCommand(null), createCommand(otherUser.getId())));
+
+		assertThrows(UnauthorizedException.class, () -> taskApplicationService.createTasks(command));
+		assertEquals(0, taskRepository.count());
+	}
+
+	@Test
+	void bulkUpdateLoadsOnceAndBatchesUpdates() {
+		authenticate(user);
+		List<UpdateTaskCommand> items = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			UpdateTaskCommand item = new UpdateTaskCommand();
+			item.setTaskId(taskApplicationService.createTask(createCommand(null)).getId());
+			item.setTitle("updated");
+			item.setStatus(TaskStatus.DONE);
+			items.add(item);
+		}
+		BulkUpdateTasksCommand command = new BulkUpdateTasksCommand();
+		command.setTasks(items);
+
+		clearCounts();
+		List<TaskResponse> responses = taskApplicationService.updateTasks(command);
+
+		assertEquals(20, responses.size());
+		assertEquals("user1", responses.get(0).getUser().getUsername());
+		// tek SELECT (JOIN FETCH user) + tek batch'li UPDATE
+		assertEquals(2, statementCount());
+	}
+
+	@Test
+	void bulkDeleteOfForeignTaskDeletesNothing() {
+		authenticate(otherUser);
+		Long foreignTaskId = taskApplicationService.createTask(createCommand(null)).getId();
+		authenticate(user);
+		Long ownTaskId = taskApplicationService.createTask(createCommand(null)).getId();
+
+		BulkDeleteTasksCommand command = new BulkDeleteTasksCommand();
+		command.setTaskIds(List.of(ownTaskId, foreignTaskId));
+
+		assertThrows(UnauthorizedException.class, () -> taskApplicationService.deleteTasks(command));
+		assertEquals(2, taskRepository.count());
+
+		command.setTaskIds(List.of(ownTaskId));
+		clearCounts();
+		taskApplicationService.deleteTasks(command);
+
+		// SELECT + DELETE + tombstone INSERT
+		assertEquals(3, statementCount());
+		assertEquals(1, taskRepository.count());
+	}
+
+	@Test
+	void exportStreamsOwnTasksInSingleSelect() {
+		authenticate(otherUser);
+		taskApplicationService.createTask(createCommand(null));
+		authenticate(user);
+		for (int i = 0; i < 25; i++) {
+			taskApplicationService.createTask(createCommand(null));
+		}
+
+		List<TaskResponse> exported = new ArrayList<>();
+		clearCounts();
+		taskApplicationService.exportTasks(new GetAllTasksQuery(), exported::add);
+
+		assertEquals(25, exported.size());
+		assertTrue(exported.stream().allMatch(task -> "user1".equals(task.getUser().getUsername())));
+		// COUNT yok, entity yüklenmez
+		assertEquals(1, statementCount());
+		assertEquals(0, statistics.getEntityLoadCount());
+	}
+
+	@Test
+	void statsFollowCommittedChangesWithoutQueries() {
+		// setUp'taki deleteAll event yayınlamaz, sayaçlar önce DB ile eşitlenir
+		taskStatusCounters.reconcile();
+
+		authenticate(user);
+		taskApplicationService.createTask(createCommand(null));
+		TaskResponse created = taskApplicationService.createTask(createCommand(null));
+		UpdateTaskCommand update = new UpdateTaskCommand();
+		update.setTaskId(created.getId());
+		update.setTitle("done");
+		update.setStatus(TaskStatus.DONE);
+		taskApplicationService.updateTask(update);
+		authenticate(otherUser);
+		taskApplicationService.createTask(createCommand(null));
+
+		authenticate(user);
+		clearCounts();
+		TaskStatsResponse own = taskApplicationService.getTaskStats(null);
+		assertEquals(0, statementCount());
+		assertEquals(1L, own.getCounts().get(TaskStatus.NEW));
+		assertEquals(1L, own.getCounts().get(TaskStatus.DONE));
+		assertEquals(2, own.getTotal());
+		assertThrows(UnauthorizedException.class, () -> taskApplicationService.getTaskStats(otherUser.getId()));
+
+		authenticate(admin);
+		TaskStatsResponse global = taskApplicationService.getTaskStats(null);
+		assertEquals(2L, global.getCounts().get(TaskStatus.NEW));
+		assertEquals(3, global.getTotal());
+		assertEquals(1, taskApplicationService.getTaskStats(otherUser.getId()).getTotal());
+		assertTrue(taskStatusCounters.reconcile());
+		assertEquals(global.getCounts(), taskApplicationService.getTaskStats(null).getCounts());
+	}
+
+	@Test
+	void searchRanksTitleMatchesAndKeepsOwnershipScope() {
+		authenticate(user);
+		TaskResponse titleHit = taskApplicationService.createTask(createCommand(null, "Fix checkout crash", null));
+		TaskResponse descriptionHit = taskApplicationService.createTask(createCommand(null, "Release notes", "mention the checkout fix"));
+		taskApplicationService.createTask(createCommand(null, "Unrelated", "nothing here"));
+		authenticate(otherUser);
+		taskApplicationService.createTask(createCommand(null, "Checkout crash on mobile", null));
+
+		authenticate(user);
+		clearCounts();
+		List<TaskResponse> results = taskApplicationService.searchTasks("checkout CRASH", null);
+
+		assertEquals(List.of(titleHit.getId(), descriptionHit.getId()), results.stream().map(TaskResponse::getId).toList());
+		// arama index'ten, satırlar tek SELECT ile gelir
+		assertEquals(1, statementCount());
+
+		authenticate(admin);
+		assertEquals(3, taskApplicationService.searchTasks("checkout", null).size());
+	}
+
+	@Test
+	void listingETagChangesOnlyWithItsScope() {
+		authenticate(admin);
+		String adminETag = taskApplicationService.getTasksETag(new GetAllTasksQuery());
+		authenticate(user);
+		clearCounts();
+		String userETag = taskApplicationService.getTasksETag(new GetAllTasksQuery());
+		assertEquals(0, statementCount());
+		assertEquals(userETag, taskApplicationService.getTasksETag(new GetAllTasksQuery()));
+
+		GetAllTasksQuery doneQuery = new GetAllTasksQuery();
+		doneQuery.setStatus(TaskStatus.DONE);
+		assertNotEquals(userETag, taskApplicationService.getTasksETag(doneQuery));
+
+		// başka kullanıcının yazması user kapsamını değiştirmez, admin kapsamını değiştirir
+		authenticate(otherUser);
+		taskApplicationService.createTask(createCommand(null));
+		authenticate(user);
+		assertEquals(userETag, taskApplicationService.getTasksETag(new GetAllTasksQuery()));
+		authenticate(admin);
+		assertNotEquals(adminETag, taskApplicationService.getTasksETag(new GetAllTasksQuery()));
+
+		authenticate(user);
+		taskApplicationService.createTask(createCommand(null));
+		assertNotEquals(userETag, taskApplicationService.getTasksETag(new GetAllTasksQuery()));
+	}
+
+	private void clearCounts() {
+		statistics.clear();
+		SqlCapture.clear();
+	}
+
+	// pooled sequence çağrıları (50 id'de bir) sayılmaz
+	private long statementCount() {
+		return SqlCapture.statements().stream()
+				.filter(sql -> !sql.toLowerCase(Locale.ROOT).contains("next value for"))
+				.count();
+	}
+
+	private User saveUser(String username, Role role) {
+		User entity = new User();
+		entity.setUsername(username);
+		entity.setPassword("password");
+		entity.setRole(role);
+		return userRepository.save(entity);
+	}
+
+	private static void assertChange(TaskChange change, TaskChange.Type type, Long taskId) {
+		assertEquals(type, change.getType());
+		assertEquals(taskId, change.getTaskId());
+	}
+
+	private void authenticate(User entity) {
+		UserPrincipal principal = UserPrincipal.create(entity);
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+	}
+
+	private CreateTaskCommand createCommand(Long targetUserId) {
+		return createCommand(targetUserId, "task", null);
+	}
+
+	private CreateTaskCommand createCommand(Long targetUserId, String title, String description) {
+		CreateTaskCommand command = new CreateTaskCommand();
+		command.setTargetUserId(targetUserId);
+		command.setTitle(title);
+		command.setDescription(description);
+		command.setStatus(TaskStatus.NEW);
+		return command;
+	}
+}
@@ -0,0 +1,64 @@
+package com.example.taskmanager.sync;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskChangeSequenceTests {
+
+	@Autowired
+	private TaskChangeSequence taskChangeSequence;
+
+	@Autowired
+	private ApplicationContext applicationContext;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	// ikinci uygulama instance'ı: aynı veritabanı, ayrı bellek
+	private TaskChangeSequence otherInstance() {
+		return new TaskChangeSequence(jdbcTemplate, applicationContext.getBeanProvider(EntityManagerFactory.class),
+				applicationContext.getBeanProvider(PlatformTransactionManager.class));
+	}
+
+	@Test
+	void instancesAllocateFromOneDatabaseSequence() {
+		TaskChangeSequence other = otherInstance();
+
+		long previous = taskChangeSequence.next();
+		for (int i = 0; i < 10; i++) {
+			long fromOther = other.next();
+			long fromThis = taskChangeSequence.next();
+			assertTrue(fromOther > previous);
+			assertTrue(fromThis > fromOther);
+			previous = fromThis;
+		}
+	}
+
+	@Test
+	void watermarkStaysBelowOpenSequence() {
+		AtomicLong open = new AtomicLong();
+		new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+			open.set(taskChangeSequence.next());
+			assertTrue(taskChangeSequence.safeWatermark() < open.get());
+			assertEquals(open.get() - 1, taskChangeSequence.localWatermark());
+		});
+		assertEquals(open.get(), taskChangeSequence.localWatermark());
+	}
+}
@@ -0,0 +1,237 @@
+package com.example.taskmanager.sync;
+
+import com.example.taskmanager.command.CreateTaskCommand;
+import com.example.taskmanager.command.DeleteTaskCommand;
+import com.example.taskmanager.dto.TaskResponse;
+import com.example.taskmanager.entity.Role;
+import com.example.taskmanager.entity.TaskStatus;
+import com.example.taskmanager.entity.User;
+import com.example.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.repository.TaskRepository;
+import com.example.taskmanager.repository.UserRepository;
+import com.example.taskmanager.security.JwtTokenProvider;
+import com.example.taskmanager.security.UserPrincipal;
+import com.example.taskmanager.service.TaskApplicationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// SSE akışı gerçek sunucu üzerinden: commit edilen değişiklikler sadece sahibine ve admin'e iletilir,
+// okumayan bir client diğer abonelerin akışını durdurmaz
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"task.stream.buffer-size=4096",
+		"task.stream.heartbeat-ms=200",
+		"task.stream.write-timeout-ms=1000"
+})
+@ActiveProfiles("test")
+class TaskStreamHubTests {
+
+	private static final long TIMEOUT_MS = 10000;
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private TaskApplicationService taskApplicationService;
+
+	@Autowired
+	private TaskStreamHub taskStreamHub;
+
+	@Autowired
+	private JwtTokenProvider jwtTokenProvider;
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private final HttpClient httpClient = HttpClient.newHttpClient();
+	private final List<AutoCloseable> connections = new ArrayList<>();
+
+	private User admin;
+	private User user;
+	private User otherUser;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		// önceki testin kapattığı bağlantılar heartbeat'te fark edilip düşer
+		awaitSubscribers(0);
+		taskRepository.deleteAll();
+		userRepository.deleteAll();
+
+		admin = saveUser("stream-admin", Role.ADMIN);
+		user = saveUser("stream-user1", Role.USER);
+		otherUser = saveUser("stream-user2", Role.USER);
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		SecurityContextHolder.clearContext();
+		for (AutoCloseable connection : connections) {
+			connection.close();
+		}
+	}
+
+	@Test
+	void streamPushesCommittedChangesWithinOwnershipScope() throws Exception {
+		StringBuffer userStream = subscribe(user);
+		StringBuffer otherStream = subscribe(otherUser);
+		StringBuffer adminStream = subscribe(admin);
+		awaitContent(userStream, "event:ready");
+		awaitContent(otherStream, "event:ready");
+		awaitContent(adminStream, "event:ready");
+		assertEquals(3, taskStreamHub.getSubscriberCount());
+
+		authenticate(user);
+		TaskResponse created = taskApplicationService.createTask(createCommand("streamed"));
+		DeleteTaskCommand delete = new DeleteTaskCommand();
+		delete.setTaskId(created.getId());
+		taskApplicationService.deleteTask(delete);
+
+		String userEvents = awaitContent(userStream, "\"type\":\"DELETED\"");
+		assertTrue(userEvents.contains("\"type\":\"CREATED\""));
+		assertTrue(userEvents.contains("\"title\":\"streamed\""));
+		assertTrue(userEvents.contains("\"changeSeq\":"));
+		assertTrue(userEvents.indexOf("\"type\":\"CREATED\"") < userEvents.indexOf("\"type\":\"DELETED\""));
+		awaitContent(adminStream, "\"type\":\"DELETED\"");
+
+		// başka kullanıcının görevi hiçbir zaman iletilmez
+		assertFalse(otherStream.toString().contains("event:task"));
+	}
+
+	@Test
+	void stalledSubscriberDoesNotBlockOthersAndIsDisconnected() throws Exception {
+		double stalledBefore = meterRegistry.get("taskmanager.tasks.stream.stalled").counter().count();
+
+		// hiç okumayan client: socket buffer'ları dolunca sunucu bu aboneye yazamaz
+		Socket stalled = new Socket();
+		stalled.setReceiveBufferSize(4096);
+		stalled.connect(new InetSocketAddress("localhost", port));
+		connections.add(stalled);
+		OutputStream request = stalled.getOutputStream();
+		request.write(("GET /api/tasks/stream HTTP/1.1\r\nHost: localhost\r\nAccept: text/event-stream\r\n"
+				+ "Authorization: Bearer " + token(admin) + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+		request.flush();
+
+		StringBuffer adminStream = subscribe(admin);
+		awaitContent(adminStream, "event:ready");
+		awaitSubscribers(2);
+
+		// socket buffer'larından çok daha büyük toplam veri
+		String description = "x".repeat(8192);
+		for (long i = 1; i <= 2000; i++) {
+			taskStreamHub.onTaskChanged(TaskChangedEvent.created(i, i, user.getId(), TaskStatus.NEW, "bulk-" + i, description));
+		}
+		taskStreamHub.onTaskChanged(TaskChangedEvent.created(2001L, 2001L, user.getId(), TaskStatus.NEW, "last", null));
+
+		// okuyan abone tüm akışı alır
+		awaitContent(adminStream, "\"title\":\"last\"");
+
+		// okumayan abone write timeout'tan sonra kapatılır
+		awaitSubscribers(1);
+		assertEquals(stalledBefore + 1, meterRegistry.get("taskmanager.tasks.stream.stalled").counter().count());
+	}
+
+	// satırlar arka planda okunur; bağlantı test sonunda kapatılır
+	private StringBuffer subscribe(User entity) throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tasks/stream"))
+				.header("Authorization", "Bearer " + token(entity))
+				.GET()
+				.build();
+		HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+		assertEquals(200, response.statusCode());
+		InputStream body = response.body();
+		connections.add(body);
+
+		StringBuffer content = new StringBuffer();
+		Thread reader = new Thread(() -> {
+			try (BufferedReader lines = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+				String line;
+				while ((line = lines.readLine()) != null) {
+					content.append(line).append('\n');
+				}
+			} catch (IOException e) {
+				// bağlantı kapatıldı
+			}
+		});
+		reader.setDaemon(true);
+		reader.start();
+		return content;
+	}
+
+	private static String awaitContent(StringBuffer stream, String expected) throws Exception {
+		long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+		while (stream.indexOf(expected) < 0) {
+			if (System.currentTimeMillis() > deadline) {
+				String content = stream.toString();
+				throw new AssertionError("Stream did not receive " + expected + ", got: "
+						+ content.substring(Math.max(0, content.length() - 2000)));
+			}
+			Thread.sleep(20);
+		}
+		return stream.toString();
+	}
+
+	private void awaitSubscribers(int expected) throws Exception {
+		long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+		while (taskStreamHub.getSubscriberCount() != expected && System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+		}
+		assertEquals(expected, taskStreamHub.getSubscriberCount());
+	}
+
+	private String token(User entity) {
+		return jwtTokenProvider.generateToken(UserPrincipal.create(entity));
+	}
+
+	private User saveUser(String username, Role role) {
+		User entity = new User();
+		entity.setUsername(username);
+		entity.setPassword("password");
+		entity.setRole(role);
+		return userRepository.save(entity);
+	}
+
+	private void authenticate(User entity) {
+		UserPrincipal principal = UserPrincipal.create(entity);
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+	}
+
+	private CreateTaskCommand createCommand(String title) {
+		CreateTaskCommand command = new CreateTaskCommand();
+		command.setTitle(title);
+		command.setStatus(TaskStatus.NEW);
+		return command;
+	}
+}